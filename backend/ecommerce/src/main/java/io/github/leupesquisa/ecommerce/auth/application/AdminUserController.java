@@ -0,0 +1,33 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningReportDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * REST controller for user administration.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserProvisioner userProvisioner;
+
+    /**
+     * Create users in bulk.
+     * The body is streamed as newline-delimited JSON, one registration per line, and each row is validated
+     * like a single registration. Created users get the user role.
+     *
+     * @param body the request body
+     * @return the provisioning report, with the outcome of every row
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<UserProvisioningReportDto> provisionUsers(InputStream body) {
+        return ResponseEntity.ok(userProvisioner.provisionUsers(body));
+    }
+}
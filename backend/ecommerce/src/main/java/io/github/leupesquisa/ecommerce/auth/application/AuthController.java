@@ -1,14 +1,16 @@
 package io.github.leupesquisa.ecommerce.auth.application;
 
 import io.github.leupesquisa.ecommerce.auth.application.dto.AuthResponse;
+import io.github.leupesquisa.ecommerce.auth.application.dto.RefreshTokenRequestDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserLoginDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserRegistrationDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserResponseDto;
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -25,32 +27,59 @@ public class AuthController {
      * Register a new user.
      *
      * @param registrationDto the user registration data
+     * @param request the HTTP request, for the client IP
      * @return the authentication response with token and user information
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody UserRegistrationDto registrationDto) {
-        return ResponseEntity.ok(authService.register(registrationDto));
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody UserRegistrationDto registrationDto,
+                                                 HttpServletRequest request) {
+        return ResponseEntity.ok(authService.register(registrationDto, request.getRemoteAddr()));
     }
 
     /**
      * Authenticate a user.
      *
      * @param loginDto the user login data
+     * @param request the HTTP request, for the client IP
      * @return the authentication response with token and user information
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody UserLoginDto loginDto) {
-        return ResponseEntity.ok(authService.login(loginDto));
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody UserLoginDto loginDto, HttpServletRequest request) {
+        return ResponseEntity.ok(authService.login(loginDto, request.getRemoteAddr()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token pair.
+     * The presented refresh token cannot be used again.
+     *
+     * @param request the refresh token request
+     * @return the authentication response with the new tokens and user information
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequestDto request) {
+        return ResponseEntity.ok(authService.refresh(request));
+    }
+
+    /**
+     * Log out the session of a refresh token.
+     *
+     * @param request the refresh token request
+     * @return no content
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequestDto request) {
+        authService.logout(request);
+        return ResponseEntity.noContent().build();
     }
 
     /**
      * Get the current user information.
      *
-     * @param userDetails the authenticated user details
+     * @param user the authenticated user
      * @return the user information
      */
     @GetMapping("/me")
-    public ResponseEntity<UserResponseDto> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(authService.getUserInfo(userDetails.getUsername()));
+    public ResponseEntity<UserResponseDto> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(authService.getUserInfo(user.email()));
     }
 }
\ No newline at end of file
@@ -1,90 +1,147 @@
 package io.github.leupesquisa.ecommerce.auth.application;
 
 import io.github.leupesquisa.ecommerce.auth.application.dto.AuthResponse;
+import io.github.leupesquisa.ecommerce.auth.application.dto.IssuedTokens;
+import io.github.leupesquisa.ecommerce.auth.application.dto.RefreshTokenRequestDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserLoginDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserRegistrationDto;
 import io.github.leupesquisa.ecommerce.auth.application.dto.UserResponseDto;
 import io.github.leupesquisa.ecommerce.auth.application.mapper.UserMapper;
 import io.github.leupesquisa.ecommerce.auth.domain.Role;
 import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.github.leupesquisa.ecommerce.auth.domain.exception.InvalidCredentialsException;
+import io.github.leupesquisa.ecommerce.auth.domain.exception.InvalidRefreshTokenException;
 import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
-import io.github.leupesquisa.ecommerce.core.config.JwtService;
 import io.github.leupesquisa.ecommerce.core.exception.DuplicateResourceException;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
 
 /**
  * Service for authentication operations.
+ * Logins are rate limited per client IP and account before any work is done, load the user once and verify
+ * the password on the bounded password hashing executor. Refused logins are counted by reason. Registrations
+ * share the per-IP limit, since they hash on the same executor, and hash before their transaction starts.
  */
 @Service
-@RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHasher passwordHasher;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter rateLimitedLogins;
+    private final Counter busyLogins;
+    private final Counter badCredentialLogins;
+
+    public AuthService(UserRepository userRepository,
+                       UserMapper userMapper,
+                       PasswordHasher passwordHasher,
+                       RefreshTokenService refreshTokenService,
+                       LoginThrottle loginThrottle,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.passwordHasher = passwordHasher;
+        this.refreshTokenService = refreshTokenService;
+        this.loginThrottle = loginThrottle;
+        this.transactionTemplate = transactionTemplate;
+        this.rateLimitedLogins = rejectedLogins(meterRegistry, "rate_limited");
+        this.busyLogins = rejectedLogins(meterRegistry, "busy");
+        this.badCredentialLogins = rejectedLogins(meterRegistry, "bad_credentials");
+    }
 
     /**
      * Register a new user.
      *
      * @param registrationDto the user registration data
+     * @param clientIp the IP of the client registering
      * @return the authentication response with token and user information
+     * @throws TooManyRequestsException if the client is rate limited, or password hashing is saturated
      * @throws DuplicateResourceException if a user with the same email already exists
      */
-    @Transactional
-    public AuthResponse register(UserRegistrationDto registrationDto) {
-        // Check if user already exists
-        if (userRepository.existsByEmail(registrationDto.email())) {
-            throw new DuplicateResourceException("User", "email", registrationDto.email());
-        }
+    public AuthResponse register(UserRegistrationDto registrationDto, String clientIp) {
+        loginThrottle.acquireRegistration(clientIp);
 
-        // Create new user
+        // Hash before opening the transaction, so the wait for the hashing executor holds no connection
         User user = userMapper.toEntity(registrationDto);
-        user.setPassword(passwordEncoder.encode(registrationDto.password()));
+        user.setPassword(passwordHasher.encode(registrationDto.password()));
         user.setRole(Role.ROLE_USER); // Default role for new users
 
-        // Save user
-        User savedUser = userRepository.save(user);
+        IssuedTokens tokens = transactionTemplate.execute(status -> {
+            // Check if user already exists
+            if (userRepository.existsByEmail(registrationDto.email())) {
+                throw new DuplicateResourceException("User", "email", registrationDto.email());
+            }
 
-        // Generate token
-        String token = jwtService.generateToken(savedUser);
-
-        // Return response
-        return new AuthResponse(token, userMapper.toResponseDto(savedUser));
+            // Save user and issue tokens
+            return refreshTokenService.issue(userRepository.save(user));
+        });
+        return toAuthResponse(tokens);
     }
 
     /**
      * Authenticate a user.
      *
      * @param loginDto the user login data
+     * @param clientIp the IP of the client attempting the login
      * @return the authentication response with token and user information
-     * @throws UsernameNotFoundException if the user is not found
+     * @throws TooManyRequestsException if the client or account is rate limited, or password hashing is saturated
+     * @throws InvalidCredentialsException if the email is unknown or the password is wrong
      */
-    public AuthResponse login(UserLoginDto loginDto) {
-        // Authenticate user
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginDto.email(),
-                        loginDto.password()
-                )
-        );
-
-        // Get user
-        User user = userRepository.findByEmail(loginDto.email())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + loginDto.email()));
-
-        // Generate token
-        String token = jwtService.generateToken(user);
-
-        // Return response
-        return new AuthResponse(token, userMapper.toResponseDto(user));
+    public AuthResponse login(UserLoginDto loginDto, String clientIp) {
+        // Refuse throttled attempts before loading or hashing anything
+        try {
+            loginThrottle.acquire(clientIp, loginDto.email());
+        } catch (TooManyRequestsException e) {
+            rateLimitedLogins.increment();
+            throw e;
+        }
+
+        // Load the user once and verify the password
+        Optional<User> user = userRepository.findByEmail(loginDto.email());
+        boolean matches;
+        try {
+            matches = passwordHasher.matches(loginDto.password(), user.map(User::getPassword).orElse(null));
+        } catch (TooManyRequestsException e) {
+            busyLogins.increment();
+            throw e;
+        }
+        if (!matches || !user.get().isEnabled()) {
+            badCredentialLogins.increment();
+            throw new InvalidCredentialsException();
+        }
+
+        // Issue tokens
+        return toAuthResponse(refreshTokenService.issue(user.get()));
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token pair.
+     *
+     * @param request the refresh token request
+     * @return the authentication response with the new tokens and user information
+     * @throws InvalidRefreshTokenException if the refresh token is unknown, expired, revoked or already used
+     */
+    public AuthResponse refresh(RefreshTokenRequestDto request) {
+        return toAuthResponse(refreshTokenService.rotate(request.refreshToken()));
+    }
+
+    /**
+     * Log out the session of a refresh token, revoking its refresh and access tokens.
+     *
+     * @param request the refresh token request
+     */
+    public void logout(RefreshTokenRequestDto request) {
+        refreshTokenService.revoke(request.refreshToken());
     }
 
     /**
@@ -99,4 +156,15 @@ public class AuthService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         return userMapper.toResponseDto(user);
     }
-}
\ No newline at end of file
+
+    private AuthResponse toAuthResponse(IssuedTokens tokens) {
+        return new AuthResponse(tokens.accessToken(), tokens.refreshToken(), userMapper.toResponseDto(tokens.user()));
+    }
+
+    private static Counter rejectedLogins(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.login.rejected")
+                .description("Login attempts refused, by reason")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Limits login attempts per client IP and per account.
+ * The IP limit slows down a single client trying many accounts; the account limit slows down many clients
+ * trying one account. Registrations hash a password too, so they draw from the same per-IP limit.
+ * Each key gets its own resilience4j rate limiter, kept in a bounded cache and dropped once idle for a
+ * full period, when it would have refilled anyway. The limiters are not registered in the shared
+ * registry, so arbitrary keys cannot grow the exported metrics.
+ */
+@Component
+public class LoginThrottle {
+
+    private final RateLimiterConfig ipConfig;
+    private final RateLimiterConfig accountConfig;
+    private final Cache<String, RateLimiter> ipLimiters;
+    private final Cache<String, RateLimiter> accountLimiters;
+
+    public LoginThrottle(@Value("${application.security.login.rate-limit.per-ip:20}") int perIp,
+                         @Value("${application.security.login.rate-limit.per-account:5}") int perAccount,
+                         @Value("${application.security.login.rate-limit.period:1m}") Duration period,
+                         @Value("${application.security.login.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.ipConfig = config(perIp, period);
+        this.accountConfig = config(perAccount, period);
+        this.ipLimiters = Caffeine.newBuilder().expireAfterAccess(period).maximumSize(maxTrackedKeys).build();
+        this.accountLimiters = Caffeine.newBuilder().expireAfterAccess(period).maximumSize(maxTrackedKeys).build();
+    }
+
+    /**
+     * Take a login attempt from the limits of a client IP and an account.
+     * The account limit is only charged once the IP limit allowed the attempt.
+     *
+     * @param clientIp the client IP
+     * @param email the account email
+     * @throws TooManyRequestsException if either limit is exhausted
+     */
+    public void acquire(String clientIp, String email) {
+        if (!ipLimiter(clientIp).acquirePermission()) {
+            throw new TooManyRequestsException("Too many login attempts; try again later");
+        }
+
+        String account = email.toLowerCase(Locale.ROOT);
+        RateLimiter accountLimiter = accountLimiters.get(account, key -> RateLimiter.of("login-account", accountConfig));
+        if (!accountLimiter.acquirePermission()) {
+            throw new TooManyRequestsException("Too many login attempts; try again later");
+        }
+    }
+
+    /**
+     * Take a registration attempt from the limit of a client IP, shared with its login attempts.
+     *
+     * @param clientIp the client IP
+     * @throws TooManyRequestsException if the limit is exhausted
+     */
+    public void acquireRegistration(String clientIp) {
+        if (!ipLimiter(clientIp).acquirePermission()) {
+            throw new TooManyRequestsException("Too many registration attempts; try again later");
+        }
+    }
+
+    private RateLimiter ipLimiter(String clientIp) {
+        return ipLimiters.get(clientIp, key -> RateLimiter.of("login-ip", ipConfig));
+    }
+
+    private static RateLimiterConfig config(int limit, Duration period) {
+        return RateLimiterConfig.custom()
+                .limitForPeriod(limit)
+                .limitRefreshPeriod(period)
+                .timeoutDuration(Duration.ZERO)
+                .build();
+    }
+}
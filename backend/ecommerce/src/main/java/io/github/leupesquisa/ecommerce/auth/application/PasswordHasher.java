@@ -0,0 +1,93 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hashes and verifies passwords on the bounded password hashing executor.
+ * The calling thread blocks until the hash is done, for at most the timeout. When the executor queue is full,
+ * or a hash waits longer than the timeout, the request is refused with {@link TooManyRequestsException},
+ * so a saturated executor holds each request thread for the timeout at most. Callers should not hold a
+ * transaction while they wait.
+ * Verifying against an unknown account still runs one hash, so response times do not reveal which
+ * accounts exist.
+ */
+@Component
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final Duration timeout;
+    private final String unknownAccountHash;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${application.security.password-hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.timeout = timeout;
+        this.unknownAccountHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Check a password against a stored hash.
+     *
+     * @param rawPassword the presented password
+     * @param encodedPassword the stored hash, or null if the account does not exist
+     * @return true if the account exists and the password matches, false otherwise
+     * @throws TooManyRequestsException if the hashing executor is saturated
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            run(() -> passwordEncoder.matches(rawPassword, unknownAccountHash));
+            return false;
+        }
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a password.
+     *
+     * @param rawPassword the password
+     * @return the hash
+     * @throws TooManyRequestsException if the hashing executor is saturated
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (TaskRejectedException e) {
+            throw new TooManyRequestsException("Too many logins in progress; try again later");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new TooManyRequestsException("Too many logins in progress; try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
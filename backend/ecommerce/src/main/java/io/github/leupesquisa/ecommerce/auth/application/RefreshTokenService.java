@@ -0,0 +1,177 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.application.dto.IssuedTokens;
+import io.github.leupesquisa.ecommerce.auth.domain.RefreshToken;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.github.leupesquisa.ecommerce.auth.domain.exception.InvalidRefreshTokenException;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.RefreshTokenRepository;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import io.github.leupesquisa.ecommerce.core.config.JwtService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for issuing, rotating and revoking refresh tokens.
+ * A refresh token is an opaque {@code <id>.<secret>} value; only a SHA-256 hash of the secret is stored.
+ * Every use rotates the token, and presenting a token that was already rotated is treated as theft:
+ * the whole family issued from the same login is revoked, together with its access tokens.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int SECRET_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final Duration ttl;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               JwtService jwtService,
+                               RevokedTokenRegistry revokedTokenRegistry,
+                               @Value("${application.security.refresh-token.ttl:14d}") Duration ttl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Issue an access and refresh token pair for a user, starting a new token family.
+     *
+     * @param user the user
+     * @return the issued tokens
+     */
+    @Transactional
+    public IssuedTokens issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Exchange a refresh token for a new access and refresh token pair.
+     * The presented token cannot be used again; reusing it revokes its whole family.
+     *
+     * @param refreshToken the refresh token
+     * @return the issued tokens
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public IssuedTokens rotate(String refreshToken) {
+        RefreshToken token = findForUpdate(refreshToken);
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.getRotatedAt() != null || token.getRevokedAt() != null) {
+            revokeFamily(token.getFamilyId(), now);
+            throw new InvalidRefreshTokenException();
+        }
+        if (!token.getExpiresAt().isAfter(now)) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        User user = userRepository.findById(token.getUserId())
+                .orElseThrow(InvalidRefreshTokenException::new);
+        token.setRotatedAt(now);
+        return issue(user, token.getFamilyId());
+    }
+
+    /**
+     * Revoke the family of a refresh token, ending the session it belongs to.
+     * Unknown tokens are ignored, so logging out twice is harmless.
+     *
+     * @param refreshToken the refresh token
+     */
+    @Transactional
+    public void revoke(String refreshToken) {
+        try {
+            revokeFamily(findForUpdate(refreshToken).getFamilyId(), LocalDateTime.now());
+        } catch (InvalidRefreshTokenException e) {
+            // Nothing to revoke
+        }
+    }
+
+    /**
+     * Delete expired refresh tokens.
+     * Their access tokens have expired long before, so they no longer need to be tracked.
+     */
+    @Scheduled(fixedDelayString = "${application.security.refresh-token.purge-interval:1h}")
+    @Transactional
+    public void purgeExpired() {
+        refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private IssuedTokens issue(User user, UUID familyId) {
+        String secret = newSecret();
+
+        RefreshToken token = new RefreshToken();
+        token.setUserId(user.getId());
+        token.setFamilyId(familyId);
+        token.setTokenHash(hash(secret));
+        token.setExpiresAt(LocalDateTime.now().plus(ttl));
+        RefreshToken saved = refreshTokenRepository.save(token);
+
+        return new IssuedTokens(
+                jwtService.generateToken(user, saved.getId()),
+                saved.getId() + "." + secret,
+                user
+        );
+    }
+
+    private RefreshToken findForUpdate(String refreshToken) {
+        int separator = refreshToken.indexOf('.');
+        if (separator < 0) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        UUID id;
+        try {
+            id = UUID.fromString(refreshToken.substring(0, separator));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRefreshTokenException();
+        }
+
+        String presentedHash = hash(refreshToken.substring(separator + 1));
+        return refreshTokenRepository.findByIdForUpdate(id)
+                .filter(token -> MessageDigest.isEqual(
+                        token.getTokenHash().getBytes(StandardCharsets.US_ASCII),
+                        presentedHash.getBytes(StandardCharsets.US_ASCII)))
+                .orElseThrow(InvalidRefreshTokenException::new);
+    }
+
+    private void revokeFamily(UUID familyId, LocalDateTime now) {
+        List<UUID> ids = refreshTokenRepository.findActiveIdsByFamilyId(familyId);
+        refreshTokenRepository.revokeFamily(familyId, now);
+        revokedTokenRegistry.revoke(ids, now);
+    }
+
+    private String newSecret() {
+        byte[] bytes = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String secret) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.domain.RevokedToken;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.RefreshTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory set of revoked access token IDs, checked on every authenticated request without a query.
+ * An access token carries the ID of the refresh token it was issued with as jti, so revoking a refresh token
+ * revokes its access tokens too. Revocations made by this instance apply immediately; revocations made by
+ * other instances are picked up by an incremental sync that only reads tokens revoked since the previous
+ * run. An ID is kept until every access token that can carry it has expired, so the set holds at most the
+ * tokens revoked within one access token lifetime.
+ */
+@Component
+public class RevokedTokenRegistry {
+
+    /**
+     * Re-read window before the last sync, covering revocations committed after a sync with an earlier timestamp.
+     */
+    static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration accessTokenTtl;
+    private final Map<String, LocalDateTime> revokedUntil = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    public RevokedTokenRegistry(RefreshTokenRepository refreshTokenRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${application.security.jwt.expiration}") long jwtExpiration) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.accessTokenTtl = Duration.ofMillis(jwtExpiration);
+
+        Gauge.builder("auth.tokens.revoked", revokedUntil, Map::size)
+                .description("Revoked access token IDs held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check if an access token was revoked.
+     *
+     * @param tokenId the jti of the access token, may be null
+     * @return true if the token was revoked, false otherwise
+     */
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedUntil.containsKey(tokenId);
+    }
+
+    /**
+     * Mark tokens as revoked on this instance, without waiting for the next sync.
+     *
+     * @param tokenIds the token IDs
+     * @param revokedAt the revocation time
+     */
+    public void revoke(Collection<UUID> tokenIds, LocalDateTime revokedAt) {
+        tokenIds.forEach(id -> add(id, revokedAt));
+    }
+
+    /**
+     * Load the tokens revoked since the previous sync and drop the IDs whose access tokens have all expired.
+     * The first sync loads the revocations of the last access token lifetime.
+     */
+    @Scheduled(fixedDelayString = "${application.security.refresh-token.revocation-sync-interval:5s}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync == null ? now.minus(accessTokenTtl) : lastSync.minus(SYNC_OVERLAP);
+
+        for (RevokedToken token : refreshTokenRepository.findRevokedSince(since)) {
+            add(token.id(), token.revokedAt());
+        }
+        revokedUntil.values().removeIf(until -> until.isBefore(now));
+        lastSync = now;
+    }
+
+    private void add(UUID tokenId, LocalDateTime revokedAt) {
+        revokedUntil.merge(tokenId.toString(), revokedAt.plus(accessTokenTtl), (a, b) -> a.isAfter(b) ? a : b);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of the current role of each user, for deployments where role changes and removed
+ * accounts must take effect before access tokens expire.
+ * When enabled, each request is authorized with the cached user instead of the token claims, so a change
+ * is picked up within the TTL at the cost of at most one user query per user and TTL. Call
+ * {@link #revoke(String)} after changing a role or removing an account to apply it on the next request.
+ */
+@Component
+@ConditionalOnProperty(name = "application.security.user-cache.enabled", havingValue = "true")
+public class UserAccessCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> users;
+
+    public UserAccessCache(UserRepository userRepository,
+                           @Value("${application.security.user-cache.ttl:30s}") Duration ttl,
+                           @Value("${application.security.user-cache.max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Get the current state of a user.
+     *
+     * @param email the user email
+     * @return the user, or empty if the account no longer exists
+     */
+    public Optional<AuthenticatedUser> find(String email) {
+        return Optional.ofNullable(users.get(email, key ->
+                userRepository.findByEmail(key).map(AuthenticatedUser::of).orElse(null)));
+    }
+
+    /**
+     * Drop the cached state of a user, so its next request reloads it.
+     *
+     * @param email the user email
+     */
+    public void revoke(String email) {
+        users.invalidate(email);
+    }
+}
@@ -0,0 +1,267 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningReportDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningResultDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningResultDto.Status;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserRegistrationDto;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Creates users in bulk from a streamed NDJSON body, one registration per line.
+ * Rows are validated as they are read and processed in chunks: each chunk checks email uniqueness with a
+ * single query, hashes the passwords of the new users in parallel on the provisioning pool and inserts them
+ * with one JDBC batch in its own transaction. Only one provisioning request runs at a time, so the pool's
+ * threads are the most CPU a request can take. A chunk rejected by the database is retried row by row so
+ * that one bad row only fails itself.
+ */
+@Service
+public class UserProvisioner {
+
+    static final String INSERT_SQL = "INSERT INTO ecommerce.users "
+            + "(id, email, password, first_name, last_name, role, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {
+            Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ForkJoinPool hashingPool;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Semaphore runningJobs;
+
+    public UserProvisioner(UserRepository userRepository,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           PasswordEncoder passwordEncoder,
+                           @Qualifier("userProvisioningPool") ForkJoinPool hashingPool,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           @Value("${application.users.provisioning.chunk-size:500}") int chunkSize,
+                           @Value("${application.users.provisioning.max-concurrent-requests:1}") int maxConcurrentRequests) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.hashingPool = hashingPool;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.runningJobs = new Semaphore(maxConcurrentRequests);
+    }
+
+    /**
+     * Create the users in a request body.
+     * Chunks are committed as they are processed, so a failure part way through keeps the users created
+     * before it.
+     *
+     * @param inputStream the request body, one {@link UserRegistrationDto} per line
+     * @return a report with the outcome of every row
+     * @throws TooManyRequestsException if another provisioning request is running
+     * @throws InvalidRequestException if the body cannot be read
+     */
+    public UserProvisioningReportDto provisionUsers(InputStream inputStream) {
+        if (!runningJobs.tryAcquire()) {
+            throw new TooManyRequestsException("Another bulk provisioning is running; try again later");
+        }
+
+        Report report = new Report();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String text;
+            long line = 0;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                report.received++;
+                Row row = parse(line, text);
+                if (row.error() != null) {
+                    report.add(row, Status.INVALID, null, row.error());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    provisionChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                provisionChunk(chunk, report);
+            }
+        } catch (IOException e) {
+            throw new InvalidRequestException("Provisioning stopped after " + report.created
+                    + " users: the body could not be read", e);
+        } finally {
+            runningJobs.release();
+        }
+
+        return report.toDto();
+    }
+
+    private void provisionChunk(List<Row> chunk, Report report) {
+        Map<String, Row> byEmail = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            if (byEmail.putIfAbsent(row.user().email(), row) != null) {
+                report.add(row, Status.DUPLICATE, null, "Duplicate email in request");
+            }
+        }
+
+        Set<String> existingEmails = userRepository.findExistingEmails(byEmail.keySet());
+        List<Row> candidates = new ArrayList<>(byEmail.size());
+        for (Row row : byEmail.values()) {
+            if (existingEmails.contains(row.user().email())) {
+                report.add(row, Status.DUPLICATE, null, "User already exists with email: '" + row.user().email() + "'");
+            } else {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashPasswords(candidates);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batchArgs = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            UserRegistrationDto user = candidates.get(i).user();
+            batchArgs.add(new Object[]{
+                    UUID.randomUUID(), user.email(), hashes.get(i), user.firstName(), user.lastName(),
+                    Role.ROLE_USER.name(), now
+            });
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, INSERT_TYPES));
+            for (int i = 0; i < candidates.size(); i++) {
+                report.add(candidates.get(i), Status.CREATED, (UUID) batchArgs.get(i)[0], null);
+            }
+        } catch (DataAccessException e) {
+            for (int i = 0; i < candidates.size(); i++) {
+                Object[] args = batchArgs.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.batchUpdate(INSERT_SQL, List.<Object[]>of(args), INSERT_TYPES));
+                    report.add(candidates.get(i), Status.CREATED, (UUID) args[0], null);
+                } catch (DuplicateKeyException rowException) {
+                    // Registered concurrently after the existing email lookup
+                    report.add(candidates.get(i), Status.DUPLICATE, null,
+                            "User already exists with email: '" + candidates.get(i).user().email() + "'");
+                } catch (DataAccessException rowException) {
+                    report.add(candidates.get(i), Status.FAILED, null, "Rejected by the database");
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash the passwords of a chunk on the provisioning pool and wait for all of them.
+     */
+    private List<String> hashPasswords(List<Row> rows) {
+        List<Callable<String>> tasks = rows.stream()
+                .map(row -> (Callable<String>) () -> passwordEncoder.encode(row.user().password()))
+                .toList();
+        try {
+            List<String> hashes = new ArrayList<>(rows.size());
+            for (Future<String> future : hashingPool.invokeAll(tasks)) {
+                hashes.add(future.get());
+            }
+            return hashes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private Row parse(long line, String text) {
+        UserRegistrationDto user;
+        try {
+            user = objectMapper.readValue(text, UserRegistrationDto.class);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+
+        Set<ConstraintViolation<UserRegistrationDto>> violations = validator.validate(user);
+        if (violations.isEmpty()) {
+            return new Row(line, user, null);
+        }
+        String error = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+        return new Row(line, user, error);
+    }
+
+    private record Row(long line, UserRegistrationDto user, String error) {}
+
+    /**
+     * Running totals and per-row results of a provisioning request.
+     */
+    private static final class Report {
+        private final List<UserProvisioningResultDto> results = new ArrayList<>();
+        private long received;
+        private long created;
+        private long failed;
+
+        private void add(Row row, Status status, UUID id, String message) {
+            if (status == Status.CREATED) {
+                created++;
+            } else {
+                failed++;
+            }
+            String email = row.user() != null ? row.user().email() : null;
+            results.add(new UserProvisioningResultDto(row.line(), email, status, id, message));
+        }
+
+        private UserProvisioningReportDto toDto() {
+            results.sort(Comparator.comparingLong(UserProvisioningResultDto::line));
+            return new UserProvisioningReportDto(received, created, failed, List.copyOf(results));
+        }
+    }
+}
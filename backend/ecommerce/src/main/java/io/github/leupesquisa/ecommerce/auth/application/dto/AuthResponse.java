@@ -2,9 +2,11 @@ package io.github.leupesquisa.ecommerce.auth.application.dto;
 
 /**
  * DTO for authentication responses.
- * Contains the JWT token and user information.
+ * Contains the short-lived JWT access token, the refresh token used to obtain the next one,
+ * and user information.
  */
 public record AuthResponse(
     String token,
+    String refreshToken,
     UserResponseDto user
-) {}
\ No newline at end of file
+) {}
@@ -0,0 +1,12 @@
+package io.github.leupesquisa.ecommerce.auth.application.dto;
+
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+
+/**
+ * Access and refresh token pair issued to a user.
+ */
+public record IssuedTokens(
+    String accessToken,
+    String refreshToken,
+    User user
+) {}
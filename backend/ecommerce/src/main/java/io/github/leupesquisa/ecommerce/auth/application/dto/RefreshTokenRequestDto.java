@@ -0,0 +1,11 @@
+package io.github.leupesquisa.ecommerce.auth.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for refresh and logout requests.
+ */
+public record RefreshTokenRequestDto(
+    @NotBlank(message = "Refresh token is required")
+    String refreshToken
+) {}
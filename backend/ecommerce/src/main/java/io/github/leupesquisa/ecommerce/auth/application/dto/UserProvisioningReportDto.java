@@ -0,0 +1,18 @@
+package io.github.leupesquisa.ecommerce.auth.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing the outcome of a bulk user provisioning request.
+ *
+ * @param received the number of rows read from the request body
+ * @param created the number of users created
+ * @param failed the number of rows not created
+ * @param results the outcome of every row, in line order
+ */
+public record UserProvisioningReportDto(
+        long received,
+        long created,
+        long failed,
+        List<UserProvisioningResultDto> results
+) {}
@@ -0,0 +1,31 @@
+package io.github.leupesquisa.ecommerce.auth.application.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO describing the outcome of one row of a bulk user provisioning request.
+ *
+ * @param line the line of the row in the request body
+ * @param email the email of the row, if it could be read
+ * @param status the outcome of the row
+ * @param id the ID of the created user, or null if the row was not created
+ * @param message why the row was not created, or null if it was
+ */
+public record UserProvisioningResultDto(
+        long line,
+        String email,
+        Status status,
+        UUID id,
+        String message
+) {
+
+    /**
+     * Outcome of a provisioning row.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.leupesquisa.ecommerce.auth.domain;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated request, built from the claims of its access token.
+ * Holds only what authorization needs, so requests are authenticated without loading the user.
+ *
+ * @param id the user ID
+ * @param email the user email
+ * @param role the user role
+ */
+public record AuthenticatedUser(
+        UUID id,
+        String email,
+        Role role
+) implements Principal {
+
+    /**
+     * Create the principal of a user.
+     *
+     * @param user the user
+     * @return the principal
+     */
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+
+    /**
+     * Get the authorities granted by the role.
+     *
+     * @return the authorities
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.leupesquisa.ecommerce.auth.domain;
+
+import io.github.leupesquisa.ecommerce.core.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token entity.
+ * Tokens issued from the same login form a family; using a token rotates it, so only the newest token
+ * of a family is usable. The token itself is only stored as a hash.
+ */
+@Entity
+@Table(name = "refresh_tokens", schema = "ecommerce")
+@Getter
+@Setter
+public class RefreshToken extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "family_id", nullable = false)
+    private UUID familyId;
+
+    @Column(name = "token_hash", nullable = false)
+    private String tokenHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+}
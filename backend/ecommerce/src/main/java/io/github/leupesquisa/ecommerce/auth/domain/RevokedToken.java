@@ -0,0 +1,15 @@
+package io.github.leupesquisa.ecommerce.auth.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A revoked refresh token, as read by the revocation sync.
+ *
+ * @param id the token ID, which is also the jti of the access tokens issued with it
+ * @param revokedAt when the token was revoked
+ */
+public record RevokedToken(
+        UUID id,
+        LocalDateTime revokedAt
+) {}
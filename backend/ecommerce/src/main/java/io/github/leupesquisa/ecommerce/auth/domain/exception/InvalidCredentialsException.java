@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.auth.domain.exception;
+
+import io.github.leupesquisa.ecommerce.core.exception.UnauthorizedException;
+
+/**
+ * Exception thrown when a login presents an unknown email or a wrong password.
+ * Both cases share the same message, so responses do not reveal which accounts exist.
+ */
+public class InvalidCredentialsException extends UnauthorizedException {
+
+    public InvalidCredentialsException() {
+        super("Invalid email or password");
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.leupesquisa.ecommerce.auth.domain.exception;
+
+import io.github.leupesquisa.ecommerce.core.exception.UnauthorizedException;
+
+/**
+ * Exception thrown when a refresh token is unknown, expired, revoked or already used.
+ */
+public class InvalidRefreshTokenException extends UnauthorizedException {
+
+    public InvalidRefreshTokenException() {
+        super("Invalid refresh token");
+    }
+}
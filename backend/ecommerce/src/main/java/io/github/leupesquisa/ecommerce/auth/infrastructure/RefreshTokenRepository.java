@@ -0,0 +1,71 @@
+package io.github.leupesquisa.ecommerce.auth.infrastructure;
+
+import io.github.leupesquisa.ecommerce.auth.domain.RefreshToken;
+import io.github.leupesquisa.ecommerce.auth.domain.RevokedToken;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA repository for RefreshToken entities.
+ */
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    /**
+     * Find and lock a refresh token, so concurrent rotations of the same token are serialized.
+     *
+     * @param id the token ID
+     * @return an Optional containing the locked token if found, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM RefreshToken t WHERE t.id = :id")
+    Optional<RefreshToken> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Find the IDs of the tokens of a family that are not revoked yet.
+     *
+     * @param familyId the family ID
+     * @return the token IDs
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    List<UUID> findActiveIdsByFamilyId(@Param("familyId") UUID familyId);
+
+    /**
+     * Revoke all tokens of a family that are not revoked yet.
+     *
+     * @param familyId the family ID
+     * @param revokedAt the revocation time
+     * @return the number of revoked tokens
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :revokedAt WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Find the tokens revoked since a given time, through the partial revoked_at index.
+     *
+     * @param since the lower bound of the revocation time, inclusive
+     * @return the revoked tokens
+     */
+    @Query("SELECT new io.github.leupesquisa.ecommerce.auth.domain.RevokedToken(t.id, t.revokedAt) " +
+            "FROM RefreshToken t WHERE t.revokedAt >= :since")
+    List<RevokedToken> findRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Delete the tokens that expired before a given time.
+     *
+     * @param now the current time
+     * @return the number of deleted tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,8 +2,12 @@ package io.github.leupesquisa.ecommerce.auth.infrastructure;
 
 import io.github.leupesquisa.ecommerce.auth.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,4 +31,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      * @return true if a user with the email exists, false otherwise
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Find which of the given emails are already taken, in a single query.
+     *
+     * @param emails the emails to check
+     * @return the subset of the emails that already exist
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
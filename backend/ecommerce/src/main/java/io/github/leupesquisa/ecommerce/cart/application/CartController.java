@@ -0,0 +1,75 @@
+package io.github.leupesquisa.ecommerce.cart.application;
+
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartDto;
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartItemRequestDto;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * REST controller for the authenticated user's cart.
+ */
+@RestController
+@RequestMapping("/api/carts/me")
+@RequiredArgsConstructor
+public class CartController {
+
+    private final CartService cartService;
+
+    /**
+     * Get the current user's cart.
+     *
+     * @param user the authenticated user
+     * @return the cart
+     */
+    @GetMapping
+    public ResponseEntity<CartDto> getCart(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(cartService.getCart(user.id()));
+    }
+
+    /**
+     * Set the quantity of a product in the current user's cart, reserving stock for it.
+     *
+     * @param user the authenticated user
+     * @param productId the product ID
+     * @param requestDto the quantity
+     * @return the updated cart
+     */
+    @PutMapping("/items/{productId}")
+    public ResponseEntity<CartDto> setItemQuantity(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable UUID productId,
+            @Valid @RequestBody CartItemRequestDto requestDto) {
+
+        return ResponseEntity.ok(cartService.setItemQuantity(user.id(), productId, requestDto.quantity()));
+    }
+
+    /**
+     * Remove a product from the current user's cart, releasing its reserved stock.
+     *
+     * @param user the authenticated user
+     * @param productId the product ID
+     * @return no content
+     */
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<Void> removeItem(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable UUID productId) {
+        cartService.removeItem(user.id(), productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Check out the current user's cart, selling the reserved stock.
+     *
+     * @param user the authenticated user
+     * @return the checked-out items
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<CartDto> checkout(@AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(cartService.checkout(user.id()));
+    }
+}
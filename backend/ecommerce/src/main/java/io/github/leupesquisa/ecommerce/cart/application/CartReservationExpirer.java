@@ -0,0 +1,61 @@
+package io.github.leupesquisa.ecommerce.cart.application;
+
+import io.github.leupesquisa.ecommerce.cart.domain.ReservationHold;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartReservationRepository;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Removes expired cart items and releases the stock they reserved.
+ * Each run reads only expired items through the reserved_until index, in batches of one transaction each,
+ * so the cost follows the number of expired reservations rather than the size of the cart tables.
+ * Batches skip items locked by other transactions, so several instances can sweep concurrently.
+ */
+@Component
+public class CartReservationExpirer {
+
+    private final CartReservationRepository cartReservationRepository;
+    private final ProductStockManager productStockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public CartReservationExpirer(CartReservationRepository cartReservationRepository,
+                                  ProductStockManager productStockManager,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${application.carts.reservation.expiry-batch-size:500}") int batchSize) {
+        this.cartReservationRepository = cartReservationRepository;
+        this.productStockManager = productStockManager;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Expire reservations until no full batch is left.
+     */
+    @Scheduled(fixedDelayString = "${application.carts.reservation.expiry-interval:30s}")
+    public void expireReservations() {
+        int expired;
+        do {
+            expired = transactionTemplate.execute(status -> expireBatch());
+        } while (expired == batchSize);
+    }
+
+    private int expireBatch() {
+        List<ReservationHold> holds = cartReservationRepository.deleteExpired(LocalDateTime.now(), batchSize);
+
+        Map<UUID, Integer> quantities = new HashMap<>();
+        holds.forEach(hold -> quantities.merge(hold.productId(), hold.quantity(), Integer::sum));
+        productStockManager.releaseReservedStock(quantities);
+
+        return holds.size();
+    }
+}
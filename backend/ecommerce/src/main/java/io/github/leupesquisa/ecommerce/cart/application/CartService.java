@@ -0,0 +1,170 @@
+package io.github.leupesquisa.ecommerce.cart.application;
+
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartDto;
+import io.github.leupesquisa.ecommerce.cart.application.mapper.CartMapper;
+import io.github.leupesquisa.ecommerce.cart.domain.Cart;
+import io.github.leupesquisa.ecommerce.cart.domain.CartItem;
+import io.github.leupesquisa.ecommerce.cart.domain.exception.CartItemNotFoundException;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartItemRepository;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartRepository;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import io.github.leupesquisa.ecommerce.product.domain.exception.ProductNotFoundException;
+import io.github.resilience4j.retry.Retry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service for cart operations.
+ * Every cart item reserves its quantity of the product for a limited time; the reservation is extended
+ * whenever the item changes and released when the item is removed or expires.
+ * Changes that touch reserved stock run each attempt in their own transaction, retried with the stock update
+ * policy when they lose a locking race.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CartService {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductStockManager productStockManager;
+    private final CartMapper cartMapper;
+    private final Retry stockUpdateRetry;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration reservationTtl;
+
+    public CartService(CartRepository cartRepository,
+                       CartItemRepository cartItemRepository,
+                       ProductStockManager productStockManager,
+                       CartMapper cartMapper,
+                       Retry stockUpdateRetry,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${application.carts.reservation.ttl:15m}") Duration reservationTtl) {
+        this.cartRepository = cartRepository;
+        this.cartItemRepository = cartItemRepository;
+        this.productStockManager = productStockManager;
+        this.cartMapper = cartMapper;
+        this.stockUpdateRetry = stockUpdateRetry;
+        this.transactionTemplate = transactionTemplate;
+        this.reservationTtl = reservationTtl;
+    }
+
+    /**
+     * Get the cart of a user.
+     *
+     * @param userId the user ID
+     * @return the cart, empty if the user has none
+     */
+    public CartDto getCart(UUID userId) {
+        return cartRepository.findByUserId(userId)
+                .map(cart -> toDto(cartItemRepository.findByCartIdOrderByCreatedAtAsc(cart.getId())))
+                .orElseGet(() -> new CartDto(List.of()));
+    }
+
+    /**
+     * Set the quantity of a product in a user's cart, reserving or releasing the difference.
+     * The cart is created on first use.
+     *
+     * @param userId the user ID
+     * @param productId the product ID
+     * @param quantity the quantity to hold
+     * @return the updated cart
+     * @throws ProductNotFoundException if the product is not found
+     * @throws InvalidRequestException if not enough unreserved stock is available
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CartDto setItemQuantity(UUID userId, UUID productId, int quantity) {
+        return inRetriedTransaction(status -> {
+            // Concurrent first adds for the same user both end up with the one cart the insert lets through
+            Cart cart = cartRepository.findByUserId(userId).orElseGet(() -> {
+                cartRepository.insertIfAbsent(UUID.randomUUID(), userId, LocalDateTime.now());
+                return cartRepository.findByUserId(userId).orElseThrow();
+            });
+
+            // Lock the item before the product row, matching checkout and the expiry sweep
+            CartItem item = cartItemRepository.findByCartIdAndProductId(cart.getId(), productId).orElse(null);
+            int held = item != null ? item.getQuantity() : 0;
+            if (quantity > held) {
+                productStockManager.reserveStock(productId, quantity - held);
+            } else if (quantity < held) {
+                productStockManager.releaseReservedStock(Map.of(productId, held - quantity));
+            }
+
+            if (item == null) {
+                item = new CartItem();
+                item.setCartId(cart.getId());
+                item.setProductId(productId);
+            }
+            item.setQuantity(quantity);
+            item.setReservedUntil(LocalDateTime.now().plus(reservationTtl));
+            cartItemRepository.save(item);
+
+            return toDto(cartItemRepository.findByCartIdOrderByCreatedAtAsc(cart.getId()));
+        });
+    }
+
+    /**
+     * Remove a product from a user's cart and release its reservation.
+     *
+     * @param userId the user ID
+     * @param productId the product ID
+     * @throws CartItemNotFoundException if the cart does not contain the product
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void removeItem(UUID userId, UUID productId) {
+        inRetriedTransaction(status -> {
+            CartItem item = cartRepository.findByUserId(userId)
+                    .flatMap(cart -> cartItemRepository.findByCartIdAndProductId(cart.getId(), productId))
+                    .orElseThrow(() -> new CartItemNotFoundException(productId));
+
+            productStockManager.releaseReservedStock(Map.of(productId, item.getQuantity()));
+            cartItemRepository.delete(item);
+            return null;
+        });
+    }
+
+    /**
+     * Check out a user's cart: the reserved stock of every item is sold and the cart is emptied.
+     * Items whose reservation expired but were not swept yet still hold their stock and are included.
+     *
+     * @param userId the user ID
+     * @return the checked-out items
+     * @throws InvalidRequestException if the cart is empty
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CartDto checkout(UUID userId) {
+        return inRetriedTransaction(status -> {
+            List<CartItem> items = cartRepository.findByUserId(userId)
+                    .map(cart -> cartItemRepository.findAllByCartIdForUpdate(cart.getId()))
+                    .orElse(List.of());
+            if (items.isEmpty()) {
+                throw new InvalidRequestException("Cart is empty");
+            }
+
+            productStockManager.commitReservedStock(items.stream()
+                    .collect(Collectors.toMap(CartItem::getProductId, CartItem::getQuantity)));
+            cartItemRepository.deleteAllInBatch(items);
+
+            return toDto(items);
+        });
+    }
+
+    private <T> T inRetriedTransaction(TransactionCallback<T> action) {
+        return stockUpdateRetry.executeSupplier(() -> transactionTemplate.execute(action));
+    }
+
+    private CartDto toDto(List<CartItem> items) {
+        return new CartDto(items.stream().map(cartMapper::toItemDto).toList());
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.leupesquisa.ecommerce.cart.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO for the contents of a cart.
+ *
+ * @param items the cart items, oldest first
+ */
+public record CartDto(
+        List<CartItemDto> items
+) {}
@@ -0,0 +1,17 @@
+package io.github.leupesquisa.ecommerce.cart.application.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a cart item and its stock reservation.
+ *
+ * @param productId the product ID
+ * @param quantity the quantity, all of it reserved
+ * @param reservedUntil when the reservation expires and the item is removed from the cart
+ */
+public record CartItemDto(
+        UUID productId,
+        int quantity,
+        LocalDateTime reservedUntil
+) {}
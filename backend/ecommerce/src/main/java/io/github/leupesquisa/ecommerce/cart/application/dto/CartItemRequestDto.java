@@ -0,0 +1,15 @@
+package io.github.leupesquisa.ecommerce.cart.application.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for setting the quantity of a product in a cart.
+ *
+ * @param quantity the quantity to hold in the cart
+ */
+public record CartItemRequestDto(
+        @NotNull(message = "Quantity is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        Integer quantity
+) {}
@@ -0,0 +1,18 @@
+package io.github.leupesquisa.ecommerce.cart.application.mapper;
+
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartItemDto;
+import io.github.leupesquisa.ecommerce.cart.domain.CartItem;
+import org.mapstruct.Mapper;
+
+/**
+ * MapStruct mapper for converting cart entities to DTOs.
+ * The implementation will be generated at compile time.
+ */
+@Mapper(componentModel = "spring")
+public interface CartMapper {
+
+    /**
+     * Convert cart item entity to DTO
+     */
+    CartItemDto toItemDto(CartItem cartItem);
+}
@@ -0,0 +1,24 @@
+package io.github.leupesquisa.ecommerce.cart.domain;
+
+import io.github.leupesquisa.ecommerce.core.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.UUID;
+
+/**
+ * Shopping cart entity; each user has at most one cart.
+ */
+@Entity
+@Table(name = "carts", schema = "ecommerce")
+@Getter
+@Setter
+public class Cart extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", unique = true, nullable = false)
+    private UUID userId;
+}
@@ -0,0 +1,35 @@
+package io.github.leupesquisa.ecommerce.cart.domain;
+
+import io.github.leupesquisa.ecommerce.core.audit.Auditable;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cart item entity.
+ * Every item holds its quantity of the product as reserved stock until it expires, is removed or is checked out.
+ */
+@Entity
+@Table(name = "cart_items", schema = "ecommerce")
+@Getter
+@Setter
+public class CartItem extends Auditable {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "cart_id", nullable = false)
+    private UUID cartId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "reserved_until", nullable = false)
+    private LocalDateTime reservedUntil;
+}
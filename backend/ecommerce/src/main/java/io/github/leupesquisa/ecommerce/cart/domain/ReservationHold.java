@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.cart.domain;
+
+import java.util.UUID;
+
+/**
+ * Stock held by a single cart item.
+ *
+ * @param productId the product ID
+ * @param quantity the reserved quantity
+ */
+public record ReservationHold(
+        UUID productId,
+        int quantity
+) {}
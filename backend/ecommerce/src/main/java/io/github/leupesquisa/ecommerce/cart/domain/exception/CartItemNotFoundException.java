@@ -0,0 +1,16 @@
+package io.github.leupesquisa.ecommerce.cart.domain.exception;
+
+import io.github.leupesquisa.ecommerce.core.exception.ResourceNotFoundException;
+
+import java.util.UUID;
+
+/**
+ * Exception thrown when a cart does not contain the requested product.
+ * Extends the generic ResourceNotFoundException.
+ */
+public class CartItemNotFoundException extends ResourceNotFoundException {
+
+    public CartItemNotFoundException(UUID productId) {
+        super("Cart item", "productId", productId);
+    }
+}
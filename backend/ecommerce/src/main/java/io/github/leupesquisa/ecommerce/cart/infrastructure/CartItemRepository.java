@@ -0,0 +1,60 @@
+package io.github.leupesquisa.ecommerce.cart.infrastructure;
+
+import io.github.leupesquisa.ecommerce.cart.domain.CartItem;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA repository for CartItem entities.
+ * Items are locked before the product rows they reserve stock on, in every code path,
+ * so reservation changes, checkouts and the expiry sweep cannot deadlock each other.
+ */
+public interface CartItemRepository extends JpaRepository<CartItem, UUID> {
+
+    /**
+     * Find the items of a cart, oldest first.
+     *
+     * @param cartId the cart ID
+     * @return the cart items
+     */
+    List<CartItem> findByCartIdOrderByCreatedAtAsc(UUID cartId);
+
+    /**
+     * Find and lock the item of a cart for a product.
+     *
+     * @param cartId the cart ID
+     * @param productId the product ID
+     * @return an Optional containing the locked item if the cart contains the product, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<CartItem> findByCartIdAndProductId(UUID cartId, UUID productId);
+
+    /**
+     * Find and lock all items of a cart, in ID order.
+     *
+     * @param cartId the cart ID
+     * @return the locked cart items
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM CartItem i WHERE i.cartId = :cartId ORDER BY i.id")
+    List<CartItem> findAllByCartIdForUpdate(@Param("cartId") UUID cartId);
+
+    /**
+     * Delete every cart item of a product, e.g. before the product itself is deleted.
+     * Reservations held by the items are not released; callers delete the product row as well.
+     *
+     * @param productId the product ID
+     * @return the number of deleted items
+     */
+    @Modifying
+    @Query("DELETE FROM CartItem i WHERE i.productId = :productId")
+    int deleteAllByProductId(@Param("productId") UUID productId);
+}
@@ -0,0 +1,44 @@
+package io.github.leupesquisa.ecommerce.cart.infrastructure;
+
+import io.github.leupesquisa.ecommerce.cart.domain.Cart;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA repository for Cart entities.
+ */
+public interface CartRepository extends JpaRepository<Cart, UUID> {
+
+    /**
+     * Find the cart of a user.
+     *
+     * @param userId the user ID
+     * @return an Optional containing the cart if the user has one, empty otherwise
+     */
+    Optional<Cart> findByUserId(UUID userId);
+
+    /**
+     * Create the cart of a user unless the user already has one.
+     * A concurrent insert for the same user makes this wait for it and then do nothing, instead of
+     * failing on the unique user index.
+     *
+     * @param id the ID of the new cart
+     * @param userId the user ID
+     * @param createdAt the creation timestamp
+     * @return the number of rows inserted, 0 if the user already had a cart
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ecommerce.carts (id, user_id, created_at, updated_at) "
+            + "VALUES (:id, :userId, :createdAt, :createdAt) "
+            + "ON CONFLICT (user_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("userId") UUID userId,
+                       @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,40 @@
+package io.github.leupesquisa.ecommerce.cart.infrastructure;
+
+import io.github.leupesquisa.ecommerce.cart.domain.ReservationHold;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for expiring cart reservations.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CartReservationRepository {
+
+    static final String DELETE_EXPIRED_SQL = "DELETE FROM ecommerce.cart_items WHERE id IN ("
+            + "SELECT id FROM ecommerce.cart_items WHERE reserved_until <= ? "
+            + "ORDER BY reserved_until LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING product_id, quantity";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Delete a batch of expired cart items.
+     * Candidates are read through the reserved_until index, oldest first; items locked by a concurrent
+     * cart change or sweep are skipped and picked up by a later batch. Must run inside a transaction.
+     *
+     * @param now the current time
+     * @param limit the maximum number of items to delete
+     * @return the stock held by each deleted item
+     */
+    public List<ReservationHold> deleteExpired(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(DELETE_EXPIRED_SQL, (resultSet, rowNum) -> new ReservationHold(
+                resultSet.getObject("product_id", UUID.class),
+                resultSet.getInt("quantity")), now, limit);
+    }
+}
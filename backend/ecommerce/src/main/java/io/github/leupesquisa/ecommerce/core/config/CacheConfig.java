@@ -0,0 +1,21 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration for the application caches.
+ * Cache sizes and expiration are configured through spring.cache.caffeine.spec.
+ * The caching advice is ordered ahead of the transaction advice, so cache hits are served
+ * without opening a transaction or borrowing a database connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    /**
+     * Cache of product response DTOs, keyed by product ID.
+     */
+    public static final String PRODUCTS_CACHE = "products";
+}
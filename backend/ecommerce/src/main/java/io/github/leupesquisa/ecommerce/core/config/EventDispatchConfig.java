@@ -0,0 +1,69 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.github.leupesquisa.ecommerce.event.application.MeteredEventMulticaster;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.support.AbstractApplicationContext;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for domain event delivery.
+ */
+@Configuration
+public class EventDispatchConfig {
+
+    /**
+     * Multicaster that records per-listener timings for domain events.
+     */
+    @Bean(name = AbstractApplicationContext.APPLICATION_EVENT_MULTICASTER_BEAN_NAME)
+    public static ApplicationEventMulticaster applicationEventMulticaster(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new MeteredEventMulticaster(meterRegistry);
+    }
+
+    /**
+     * Executor for asynchronous domain event delivery.
+     * The queue is bounded; when it is full the publishing thread delivers the event itself, which slows
+     * publishers down instead of dropping events or growing memory without limit. The queue depth and the
+     * number of deliveries pushed back to publishers are exported as metrics. Queued events are delivered
+     * before the application stops.
+     */
+    @Bean(name = "domainEventExecutor")
+    @ConditionalOnProperty(name = "application.events.publisher", havingValue = "async")
+    public ThreadPoolTaskExecutor domainEventExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${application.events.async.threads:8}") int threads,
+            @Value("${application.events.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${application.events.async.virtual-threads:false}") boolean virtualThreads) {
+
+        Counter callerRuns = Counter.builder("events.dispatch.caller.runs")
+                .description("Domain events delivered on the publishing thread because the queue was full")
+                .register(meterRegistry);
+        ThreadPoolExecutor.CallerRunsPolicy callerRunsPolicy = new ThreadPoolExecutor.CallerRunsPolicy();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("domain-event-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setVirtualThreads(virtualThreads);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            callerRuns.increment();
+            callerRunsPolicy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+
+        Gauge.builder("events.dispatch.queue.depth", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .description("Domain events waiting for delivery")
+                .register(meterRegistry);
+        return executor;
+    }
+}
@@ -1,31 +1,38 @@
 package io.github.leupesquisa.ecommerce.core.config;
 
+import io.github.leupesquisa.ecommerce.auth.application.RevokedTokenRegistry;
+import io.github.leupesquisa.ecommerce.auth.application.UserAccessCache;
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filter for JWT authentication.
  * Extracts JWT token from request, validates it, and sets authentication in security context.
+ * The principal is built from the token claims without a database lookup, unless the user access cache
+ * is enabled, in which case the cached current state of the user is used instead. Revoked tokens are
+ * rejected from the in-memory revocation registry, also without a database lookup.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final ObjectProvider<UserAccessCache> userAccessCache;
 
     @Override
     protected void doFilterInternal(
@@ -34,42 +41,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         // Check if Authorization header is present and starts with "Bearer "
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        // Extract JWT token from Authorization header
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
-
-        // If username is extracted and no authentication is set in security context
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Load user details from database
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        // Verify the token, reject it if revoked and read the user from its claims
+        Optional<AuthenticatedUser> authenticatedUser = jwtService.verify(authHeader.substring(7))
+                .filter(verified -> !revokedTokenRegistry.isRevoked(verified.claims().getId()))
+                .flatMap(jwtService::toAuthenticatedUser);
+        UserAccessCache cache = userAccessCache.getIfAvailable();
+        if (cache != null) {
+            authenticatedUser = authenticatedUser.flatMap(user -> cache.find(user.email()));
+        }
 
-            // Validate JWT token
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                // Create authentication token
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+        authenticatedUser.ifPresent(user -> {
+            // Create authentication token
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    user,
+                    null,
+                    user.getAuthorities()
+            );
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            }
-        }
+            // Set authentication in security context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        });
 
         // Continue filter chain
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
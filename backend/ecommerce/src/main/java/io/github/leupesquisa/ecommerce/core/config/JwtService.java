@@ -1,6 +1,14 @@
 package io.github.leupesquisa.ecommerce.core.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -10,102 +18,149 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for JWT token generation and validation.
+ * Tokens issued to users carry the user ID and role as signed claims, so requests can be authenticated
+ * from the token alone.
+ * <p>
+ * The signing key and parser are built once. Verified tokens are kept in a bounded cache until they
+ * expire, so a client sending the same token on every request pays for the HMAC check and JSON parsing
+ * once. Only tokens that passed verification are cached, so invalid tokens cannot fill the cache with
+ * entries of their choosing.
  */
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
 
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${application.security.jwt.secret-key}") String secretKey,
+                      @Value("${application.security.jwt.expiration}") long jwtExpiration,
+                      @Value("${application.security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.jwtExpiration = jwtExpiration;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .ticker(JwtService::wallClockNanos)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
 
     /**
-     * Extract username from JWT token.
+     * Verify the signature and expiry of a token and read its claims.
+     * A token is parsed at most once while it stays in the verified token cache.
      *
      * @param token the JWT token
-     * @return the username
+     * @return the verified token, or empty if the token is malformed, forged or expired
      */
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    public Optional<VerifiedToken> verify(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return Optional.of(cached);
+        }
+
+        try {
+            Claims claims = extractAllClaims(token);
+            if (claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            VerifiedToken verified = new VerifiedToken(claims, claims.getExpiration().toInstant());
+            verifiedTokens.put(token, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     /**
-     * Extract a specific claim from JWT token.
+     * Authenticate a request from its token, without loading the user.
      *
      * @param token the JWT token
-     * @param claimsResolver function to extract a specific claim
-     * @return the extracted claim
+     * @return the authenticated user, or empty if the token is invalid, expired or lacks the user claims
      */
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    public Optional<AuthenticatedUser> extractAuthenticatedUser(String token) {
+        return verify(token).flatMap(this::toAuthenticatedUser);
     }
 
     /**
-     * Generate JWT token for a user.
+     * Read the authenticated user from the claims of a verified token.
      *
-     * @param userDetails the user details
-     * @return the JWT token
+     * @param verified the verified token
+     * @return the authenticated user, or empty if the token lacks the user claims
      */
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+    public Optional<AuthenticatedUser> toAuthenticatedUser(VerifiedToken verified) {
+        Claims claims = verified.claims();
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), Role.valueOf(role)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     /**
-     * Generate JWT token with extra claims.
+     * Generate JWT token for a user, with the user ID and role as claims and the given token ID as jti,
+     * so the token can be revoked together with the refresh token it was issued with.
      *
-     * @param extraClaims extra claims to add to the token
-     * @param userDetails the user details
+     * @param user the user
+     * @param tokenId the token ID
      * @return the JWT token
      */
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+    public String generateToken(User user, UUID tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(Claims.ID, tokenId.toString());
+        return buildToken(claims, user.getUsername());
     }
 
     /**
      * Validate JWT token.
+     * The token is verified once, including its expiry.
      *
      * @param token the JWT token
      * @param userDetails the user details
      * @return true if token is valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Check if JWT token is expired.
-     *
-     * @param token the JWT token
-     * @return true if token is expired, false otherwise
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return verify(token)
+                .map(verified -> userDetails.getUsername().equals(verified.claims().getSubject()))
+                .orElse(false);
     }
 
     /**
-     * Extract expiration date from JWT token.
+     * Build and sign a token for a subject.
      *
-     * @param token the JWT token
-     * @return the expiration date
+     * @param claims the claims to add to the token
+     * @param subject the token subject
+     * @return the JWT token
      */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private String buildToken(Map<String, Object> claims, String subject) {
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
     }
 
     /**
@@ -115,20 +170,32 @@ public class JwtService {
      * @return all claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    private static long wallClockNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
     }
 
     /**
-     * Get signing key for JWT token.
-     *
-     * @return the signing key
+     * Expires each cached token when the token itself expires.
+     * The cache ticks on the wall clock, so currentTime is comparable with the token expiry.
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+            return Math.max(0, TimeUnit.MILLISECONDS.toNanos(verified.expiresAt().toEpochMilli()) - currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for password hashing.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    /**
+     * Executor that runs password hashing and verification.
+     * BCrypt is CPU-bound by design, so the pool is sized to the CPU cores and its queue is bounded: a burst of
+     * logins waits in the queue or is refused, instead of occupying every request thread. The queue depth and
+     * the number of running hashes are exported as metrics.
+     */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            MeterRegistry meterRegistry,
+            @Value("${application.security.password-hashing.threads:0}") int threads,
+            @Value("${application.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("password-hashing-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getThreadPoolExecutor().getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Pool that hashes the passwords of bulk user provisioning in parallel.
+     * It is separate from the login executor, so a large provisioning request does not queue ahead of logins,
+     * and tasks are only submitted one chunk at a time, so the pool never holds more than a chunk of work.
+     */
+    @Bean(name = "userProvisioningPool", destroyMethod = "shutdown")
+    public ForkJoinPool userProvisioningPool(
+            @Value("${application.users.provisioning.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
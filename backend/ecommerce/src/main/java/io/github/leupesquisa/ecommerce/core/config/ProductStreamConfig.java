@@ -0,0 +1,31 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the live product stock stream.
+ */
+@Configuration
+public class ProductStreamConfig {
+
+    /**
+     * Executor that writes stock updates to stream subscribers.
+     * Each subscriber has at most one write task queued or running at a time, so the queue never holds
+     * more tasks than there are subscribers, and a few threads serve many mostly idle connections.
+     */
+    @Bean(name = "productStreamExecutor")
+    public ThreadPoolTaskExecutor productStreamExecutor(
+            @Value("${application.products.stream.threads:4}") int threads,
+            @Value("${application.products.stream.virtual-threads:false}") boolean virtualThreads) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("product-stream-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.github.resilience4j.core.IntervalFunction;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the resilience4j policies used by the application.
+ * Policies are registered in the shared registries so their metrics are exported through Actuator.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Name of the retry policy applied to stock updates.
+     */
+    public static final String STOCK_UPDATE_RETRY = "stockUpdate";
+
+    /**
+     * Retry policy for stock updates that lose an optimistic or pessimistic locking race.
+     * Waits grow exponentially and are randomized, so competing writers do not retry in lockstep.
+     */
+    @Bean
+    public Retry stockUpdateRetry(
+            RetryRegistry retryRegistry,
+            @Value("${application.products.stock.retry.max-attempts:5}") int maxAttempts,
+            @Value("${application.products.stock.retry.initial-interval:20ms}") Duration initialInterval,
+            @Value("${application.products.stock.retry.multiplier:2.0}") double multiplier,
+            @Value("${application.products.stock.retry.randomization-factor:0.5}") double randomizationFactor,
+            @Value("${application.products.stock.retry.max-interval:500ms}") Duration maxInterval) {
+
+        RetryConfig config = RetryConfig.custom()
+                .maxAttempts(maxAttempts)
+                .intervalFunction(IntervalFunction.ofExponentialRandomBackoff(
+                        initialInterval, multiplier, randomizationFactor, maxInterval))
+                .retryExceptions(OptimisticLockingFailureException.class, PessimisticLockingFailureException.class)
+                .build();
+        return retryRegistry.retry(STOCK_UPDATE_RETRY, config);
+    }
+}
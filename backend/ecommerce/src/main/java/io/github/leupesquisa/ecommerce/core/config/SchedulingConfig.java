@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling scheduled background tasks.
+ * Tasks run on the auto-configured scheduler, sized by spring.task.scheduling.pool.size, so a long outbox
+ * drain or expiry sweep does not delay the other scheduled tasks.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,5 +1,6 @@
 package io.github.leupesquisa.ecommerce.core.config;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,17 +32,32 @@ public class SecurityConfig {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authorize -> authorize
+                // Streamed responses complete in an async dispatch of a request that was already authorized
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
                 // Public endpoints
                 .requestMatchers("/api/auth/**").permitAll()
-                .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
 
+                // Metrics reveal cache, login and queue internals
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+
+                // User administration
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+
                 // Product endpoints with role-based access
+                .requestMatchers(HttpMethod.GET, "/api/products/*/stock-movements").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.GET, "/api/products/export").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/products/**").hasAnyRole("USER", "ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/products/batch-get").hasAnyRole("USER", "ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/products/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/products/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/products/**").hasRole("ADMIN")
 
+                // Carts belong to the authenticated user
+                .requestMatchers("/api/carts/**").hasAnyRole("USER", "ADMIN")
+
                 // All other requests need authentication
                 .anyRequest().authenticated()
             )
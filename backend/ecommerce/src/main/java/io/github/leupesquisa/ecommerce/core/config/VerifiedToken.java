@@ -0,0 +1,27 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * A token whose signature and expiry have been verified, with its claims.
+ *
+ * @param claims the claims of the token; must not be modified
+ * @param expiresAt when the token expires
+ */
+public record VerifiedToken(
+        Claims claims,
+        Instant expiresAt
+) {
+
+    /**
+     * Check whether the token has expired since it was verified.
+     *
+     * @param now the current time
+     * @return true if the token is expired
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.leupesquisa.ecommerce.core.exception;
+
+/**
+ * Exception thrown when a request is well-formed but carries an invalid value,
+ * such as an unsupported sort property or a malformed pagination cursor.
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.leupesquisa.ecommerce.core.exception;
+
+/**
+ * Exception thrown when a request is refused because a rate limit or capacity limit was reached.
+ * Clients should retry later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.leupesquisa.ecommerce.core.exception;
+
+/**
+ * Exception thrown when the credentials presented with a request are missing, invalid or revoked.
+ */
+public class UnauthorizedException extends RuntimeException {
+
+    public UnauthorizedException(String message) {
+        super(message);
+    }
+}
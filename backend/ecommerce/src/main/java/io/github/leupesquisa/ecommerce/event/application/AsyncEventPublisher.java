@@ -0,0 +1,49 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Implementation of EventPublisher that delivers events to listeners on the domain event executor.
+ * Events published inside a transaction are handed over only after it commits and are dropped if it rolls
+ * back; events published outside a transaction are handed over immediately. Listeners therefore add
+ * neither to the publishing transaction nor to the request latency, unless the executor queue is full and
+ * its back-pressure policy runs the delivery on the publishing thread.
+ * Used when application.events.publisher is async.
+ */
+@Component
+@ConditionalOnProperty(name = "application.events.publisher", havingValue = "async")
+public class AsyncEventPublisher implements EventPublisher {
+
+    private final EventDispatcher eventDispatcher;
+    private final TaskExecutor domainEventExecutor;
+
+    public AsyncEventPublisher(EventDispatcher eventDispatcher,
+                               @Qualifier("domainEventExecutor") TaskExecutor domainEventExecutor) {
+        this.eventDispatcher = eventDispatcher;
+        this.domainEventExecutor = domainEventExecutor;
+    }
+
+    @Override
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatchAsync(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatchAsync(event);
+            }
+        });
+    }
+
+    private void dispatchAsync(DomainEvent event) {
+        domainEventExecutor.execute(() -> eventDispatcher.dispatch(event));
+    }
+}
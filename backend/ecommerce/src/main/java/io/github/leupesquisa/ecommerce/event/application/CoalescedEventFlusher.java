@@ -0,0 +1,28 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers the merged stock change events of the StockEventCoalescer once per coalescing window.
+ * Only exists when coalescing is enabled, so no flush is scheduled otherwise.
+ */
+@Component
+@ConditionalOnProperty(name = "application.events.coalescing.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class CoalescedEventFlusher {
+
+    private final StockEventCoalescer stockEventCoalescer;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Deliver the merged stock change events of the window that just closed.
+     */
+    @Scheduled(fixedDelayString = "${application.events.coalescing.window:250ms}")
+    public void flush() {
+        stockEventCoalescer.drain().forEach(applicationEventPublisher::publishEvent);
+    }
+}
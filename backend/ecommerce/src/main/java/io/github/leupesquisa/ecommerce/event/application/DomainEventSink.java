@@ -0,0 +1,20 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+
+/**
+ * Receives every dispatched domain event, before any coalescing.
+ * Sinks are called on the dispatching thread, inside the dispatching transaction if there is one, so a
+ * sink that writes to the database commits or rolls back together with the change that produced the event
+ * (or, when events are relayed from the outbox, with the removal of the outbox message). A sink that throws
+ * fails the dispatch.
+ */
+public interface DomainEventSink {
+
+    /**
+     * Accept a dispatched domain event.
+     *
+     * @param event the event
+     */
+    void accept(DomainEvent event);
+}
@@ -0,0 +1,62 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Delivers domain events to their listeners.
+ * Every publisher hands events to listeners through this class, whether it delivers them immediately
+ * or relays them from the outbox.
+ * <p>
+ * Every event is also passed to the registered {@link DomainEventSink}s, in the dispatching transaction.
+ * When stock event coalescing is enabled, stock change events are held back and merged per product, and the
+ * {@link CoalescedEventFlusher} delivers the merged events once per coalescing window; sinks still see each
+ * event. The coalescer only receives events dispatched inside a transaction after it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventDispatcher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ObjectProvider<StockEventCoalescer> stockEventCoalescer;
+    private final List<DomainEventSink> domainEventSinks;
+
+    /**
+     * Deliver a domain event to its listeners, on the calling thread unless it is coalesced.
+     *
+     * @param event the event to deliver
+     */
+    public void dispatch(DomainEvent event) {
+        StockEventCoalescer coalescer = stockEventCoalescer.getIfAvailable();
+        boolean coalesced = coalescer != null && event instanceof ProductStockChangedEvent;
+        if (!coalesced) {
+            applicationEventPublisher.publishEvent(event);
+        }
+        domainEventSinks.forEach(sink -> sink.accept(event));
+
+        if (coalesced) {
+            afterCommit(() -> coalescer.offer((ProductStockChangedEvent) event));
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
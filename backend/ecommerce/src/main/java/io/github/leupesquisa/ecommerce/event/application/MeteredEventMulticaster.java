@@ -0,0 +1,60 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+import org.springframework.context.event.SmartApplicationListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * Application event multicaster that times every listener invocation for domain events.
+ * Each invocation is recorded in the events.listener.duration timer, tagged with the listener and the
+ * event type, so a slow listener can be told apart from the others. Other application events are
+ * delivered without timing. The meter registry is resolved on first use, because the multicaster is
+ * created before most other beans.
+ */
+public class MeteredEventMulticaster extends SimpleApplicationEventMulticaster {
+
+    static final String LISTENER_TIMER = "events.listener.duration";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MeteredEventMulticaster(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void invokeListener(ApplicationListener<?> listener, ApplicationEvent event) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null
+                || !(event instanceof PayloadApplicationEvent<?> payloadEvent)
+                || !(payloadEvent.getPayload() instanceof DomainEvent domainEvent)) {
+            super.invokeListener(listener, event);
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            super.invokeListener(listener, event);
+        } finally {
+            sample.stop(Timer.builder(LISTENER_TIMER)
+                    .description("Time spent in a domain event listener")
+                    .tag("listener", listenerName(listener))
+                    .tag("event", domainEvent.getClass().getSimpleName())
+                    .register(registry));
+        }
+    }
+
+    private static String listenerName(ApplicationListener<?> listener) {
+        if (listener instanceof SmartApplicationListener smartListener
+                && StringUtils.hasText(smartListener.getListenerId())) {
+            return smartListener.getListenerId();
+        }
+        return listener.getClass().getName();
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import io.github.leupesquisa.ecommerce.event.infrastructure.EventOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementation of EventPublisher that writes events to the outbox table.
+ * The row is inserted in the publisher's transaction, so an event exists exactly when the change that
+ * produced it committed; the OutboxRelay delivers it to listeners afterwards.
+ * Used when application.events.publisher is outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "application.events.publisher", havingValue = "outbox")
+@RequiredArgsConstructor
+public class OutboxEventPublisher implements EventPublisher {
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(DomainEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Event cannot be serialized: " + event.getClass().getName(), e);
+        }
+        eventOutboxRepository.append(event.getClass().getName(), payload);
+    }
+}
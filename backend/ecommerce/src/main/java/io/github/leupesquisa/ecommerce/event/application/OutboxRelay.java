@@ -0,0 +1,112 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import io.github.leupesquisa.ecommerce.event.domain.OutboxMessage;
+import io.github.leupesquisa.ecommerce.event.infrastructure.EventOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Drains the event outbox and delivers the events to their listeners.
+ * Each batch is locked with SKIP LOCKED, dispatched and deleted in one transaction, so listeners that
+ * write to the database commit together with the removal of the message, and several instances can relay
+ * concurrently without delivering a message twice. Events are delivered in outbox order within a batch;
+ * across instances, batches may be delivered in parallel.
+ * <p>
+ * If a batch fails, its messages are retried one per transaction so a single bad message cannot hold back
+ * the others. A message that fails max-attempts times stays in the table with its last error and is no
+ * longer relayed.
+ */
+@Component
+@ConditionalOnProperty(name = "application.events.publisher", havingValue = "outbox")
+public class OutboxRelay {
+
+    private final EventOutboxRepository eventOutboxRepository;
+    private final EventDispatcher eventDispatcher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public OutboxRelay(EventOutboxRepository eventOutboxRepository,
+                       EventDispatcher eventDispatcher,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${application.events.outbox.batch-size:100}") int batchSize,
+                       @Value("${application.events.outbox.max-attempts:10}") int maxAttempts) {
+        this.eventOutboxRepository = eventOutboxRepository;
+        this.eventDispatcher = eventDispatcher;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Relay pending messages until no full batch is left.
+     */
+    @Scheduled(fixedDelayString = "${application.events.outbox.relay-interval:500ms}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == batchSize);
+    }
+
+    private int relayBatch() {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<OutboxMessage> batch = eventOutboxRepository.lockPending(maxAttempts, batchSize);
+                deliver(batch);
+                return batch.size();
+            });
+        } catch (RuntimeException e) {
+            relayOneByOne();
+            // Leave the rest to the next run, so failing messages are retried at the relay interval
+            return 0;
+        }
+    }
+
+    private void relayOneByOne() {
+        List<OutboxMessage> pending = eventOutboxRepository.findPending(maxAttempts, batchSize);
+        for (OutboxMessage message : pending) {
+            try {
+                transactionTemplate.execute(status -> {
+                    if (eventOutboxRepository.lock(message.id())) {
+                        deliver(List.of(message));
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                transactionTemplate.execute(status -> {
+                    eventOutboxRepository.recordFailure(message.id(), e.toString());
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void deliver(List<OutboxMessage> messages) {
+        messages.forEach(message -> eventDispatcher.dispatch(deserialize(message)));
+        eventOutboxRepository.delete(messages.stream().map(OutboxMessage::id).toList());
+    }
+
+    private DomainEvent deserialize(OutboxMessage message) {
+        try {
+            Class<?> eventType = Class.forName(message.eventType());
+            if (!DomainEvent.class.isAssignableFrom(eventType)) {
+                throw new IllegalStateException("Not a domain event type: " + message.eventType());
+            }
+            return (DomainEvent) objectMapper.readValue(message.payload(), eventType);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Outbox message " + message.id() + " cannot be read", e);
+        }
+    }
+}
@@ -2,20 +2,22 @@ package io.github.leupesquisa.ecommerce.event.application;
 
 import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
- * Implementation of EventPublisher that uses Spring's ApplicationEventPublisher.
+ * Implementation of EventPublisher that delivers events to listeners immediately, on the publishing thread.
+ * Used when application.events.publisher is direct.
  */
 @Component
+@ConditionalOnProperty(name = "application.events.publisher", havingValue = "direct", matchIfMissing = true)
 @RequiredArgsConstructor
 public class SpringEventPublisher implements EventPublisher {
     
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private final EventDispatcher eventDispatcher;
     
     @Override
     public void publish(DomainEvent event) {
-        applicationEventPublisher.publishEvent(event);
+        eventDispatcher.dispatch(event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges stock change events per product between flushes.
+ * A merged event keeps the old stock of the first event and the new stock of the last, so it carries the
+ * net change of the window, and the reason that moved the most stock. The ratio of received to emitted
+ * events is exported as the events.coalescing.merge.ratio gauge.
+ * <p>
+ * Events waiting in a window live only in memory and are lost if the process stops abruptly.
+ */
+@Component
+@ConditionalOnProperty(name = "application.events.coalescing.enabled", havingValue = "true")
+public class StockEventCoalescer {
+
+    private final Map<UUID, Window> windows = new ConcurrentHashMap<>();
+    private final Counter received;
+    private final Counter emitted;
+
+    public StockEventCoalescer(MeterRegistry meterRegistry) {
+        this.received = Counter.builder("events.coalescing.received")
+                .description("Stock change events received by the coalescing stage")
+                .register(meterRegistry);
+        this.emitted = Counter.builder("events.coalescing.emitted")
+                .description("Merged stock change events emitted by the coalescing stage")
+                .register(meterRegistry);
+        Gauge.builder("events.coalescing.merge.ratio", this, StockEventCoalescer::mergeRatio)
+                .description("Stock change events received per event emitted")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Add an event to the current window of its product.
+     *
+     * @param event the stock change event
+     */
+    public void offer(ProductStockChangedEvent event) {
+        received.increment();
+        windows.compute(event.getProductId(), (productId, window) -> {
+            Window current = window != null ? window : new Window(event.getOldStock());
+            current.add(event);
+            return current;
+        });
+    }
+
+    /**
+     * Close the current windows.
+     *
+     * @return one merged event per product that had events in the window
+     */
+    public List<ProductStockChangedEvent> drain() {
+        List<ProductStockChangedEvent> merged = new ArrayList<>(windows.size());
+        for (UUID productId : windows.keySet()) {
+            Window window = windows.remove(productId);
+            if (window != null) {
+                merged.add(window.toEvent());
+            }
+        }
+        emitted.increment(merged.size());
+        return merged;
+    }
+
+    private double mergeRatio() {
+        double emittedCount = emitted.count();
+        return emittedCount > 0 ? received.count() / emittedCount : 0;
+    }
+
+    /**
+     * Events of one product since the last drain; only modified inside the map's compute for its key.
+     */
+    private static final class Window {
+        private final int oldStock;
+        private final Map<StockChangeReason, Integer> movedByReason = new EnumMap<>(StockChangeReason.class);
+        private ProductStockChangedEvent last;
+
+        private Window(int oldStock) {
+            this.oldStock = oldStock;
+        }
+
+        private void add(ProductStockChangedEvent event) {
+            movedByReason.merge(event.getReason(), Math.abs(event.getStockDifference()), Integer::sum);
+            last = event;
+        }
+
+        private ProductStockChangedEvent toEvent() {
+            StockChangeReason dominant = last.getReason();
+            int dominantMoved = -1;
+            for (Map.Entry<StockChangeReason, Integer> entry : movedByReason.entrySet()) {
+                if (entry.getValue() > dominantMoved) {
+                    dominant = entry.getKey();
+                    dominantMoved = entry.getValue();
+                }
+            }
+            return new ProductStockChangedEvent(last.getProductId(), last.getProductSku(), last.getProductName(),
+                    oldStock, last.getNewStock(), dominant, last.getTimestamp());
+        }
+    }
+}
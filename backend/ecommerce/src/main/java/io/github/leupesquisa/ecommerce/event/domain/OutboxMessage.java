@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.event.domain;
+
+/**
+ * A serialized domain event waiting in the outbox.
+ *
+ * @param id the outbox message ID, increasing in insertion order
+ * @param eventType the fully qualified class name of the event
+ * @param payload the event as JSON
+ */
+public record OutboxMessage(
+        long id,
+        String eventType,
+        String payload
+) {}
@@ -1,5 +1,8 @@
 package io.github.leupesquisa.ecommerce.event.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
@@ -39,13 +42,35 @@ public class ProductStockChangedEvent implements DomainEvent {
      * @param reason the reason for the stock change
      */
     public ProductStockChangedEvent(UUID productId, String productSku, String productName, int oldStock, int newStock, StockChangeReason reason) {
+        this(productId, productSku, productName, oldStock, newStock, reason, LocalDateTime.now());
+    }
+
+    /**
+     * Recreate a ProductStockChangedEvent from its JSON form, keeping the original timestamp.
+     *
+     * @param productId the product ID
+     * @param productSku the product SKU
+     * @param productName the product name
+     * @param oldStock the old stock value
+     * @param newStock the new stock value
+     * @param reason the reason for the stock change
+     * @param timestamp when the stock changed
+     */
+    @JsonCreator
+    public ProductStockChangedEvent(@JsonProperty("productId") UUID productId,
+                                    @JsonProperty("productSku") String productSku,
+                                    @JsonProperty("productName") String productName,
+                                    @JsonProperty("oldStock") int oldStock,
+                                    @JsonProperty("newStock") int newStock,
+                                    @JsonProperty("reason") StockChangeReason reason,
+                                    @JsonProperty("timestamp") LocalDateTime timestamp) {
         this.productId = productId;
         this.productSku = productSku;
         this.productName = productName;
         this.oldStock = oldStock;
         this.newStock = newStock;
         this.reason = reason;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
     }
 
     /**
@@ -66,6 +91,7 @@ public class ProductStockChangedEvent implements DomainEvent {
      *
      * @return true if the stock has increased, false otherwise
      */
+    @JsonIgnore
     public boolean isStockIncreased() {
         return newStock > oldStock;
     }
@@ -75,6 +101,7 @@ public class ProductStockChangedEvent implements DomainEvent {
      *
      * @return true if the stock has decreased, false otherwise
      */
+    @JsonIgnore
     public boolean isStockDecreased() {
         return newStock < oldStock;
     }
@@ -84,6 +111,7 @@ public class ProductStockChangedEvent implements DomainEvent {
      *
      * @return the stock difference
      */
+    @JsonIgnore
     public int getStockDifference() {
         return newStock - oldStock;
     }
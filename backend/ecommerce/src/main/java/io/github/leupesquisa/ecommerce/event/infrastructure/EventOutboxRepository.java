@@ -0,0 +1,114 @@
+package io.github.leupesquisa.ecommerce.event.infrastructure;
+
+import io.github.leupesquisa.ecommerce.event.domain.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC repository for the event outbox.
+ */
+@Repository
+@RequiredArgsConstructor
+public class EventOutboxRepository {
+
+    static final String INSERT_SQL = "INSERT INTO ecommerce.event_outbox (event_type, payload, created_at) "
+            + "VALUES (?, CAST(? AS jsonb), ?)";
+
+    static final String FIND_PENDING_SQL = "SELECT id, event_type, payload FROM ecommerce.event_outbox "
+            + "WHERE attempts < ? ORDER BY id LIMIT ?";
+
+    static final String LOCK_PENDING_SQL = FIND_PENDING_SQL + " FOR UPDATE SKIP LOCKED";
+
+    static final String LOCK_SQL = "SELECT id FROM ecommerce.event_outbox WHERE id = ? FOR UPDATE SKIP LOCKED";
+
+    static final String DELETE_SQL = "DELETE FROM ecommerce.event_outbox WHERE id = ANY(?)";
+
+    static final String RECORD_FAILURE_SQL = "UPDATE ecommerce.event_outbox "
+            + "SET attempts = attempts + 1, last_error = ? WHERE id = ?";
+
+    private static final RowMapper<OutboxMessage> OUTBOX_MESSAGE_MAPPER = (resultSet, rowNum) ->
+            new OutboxMessage(
+                    resultSet.getLong("id"),
+                    resultSet.getString("event_type"),
+                    resultSet.getString("payload"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Add a message to the outbox, in the current transaction if there is one.
+     *
+     * @param eventType the fully qualified class name of the event
+     * @param payload the event as JSON
+     */
+    public void append(String eventType, String payload) {
+        jdbcTemplate.update(INSERT_SQL, eventType, payload, LocalDateTime.now());
+    }
+
+    /**
+     * Lock the oldest pending messages, skipping messages locked by another relay.
+     * Must run inside a transaction.
+     *
+     * @param maxAttempts messages that failed this many times are no longer pending
+     * @param limit the maximum number of messages
+     * @return the locked messages, oldest first
+     */
+    public List<OutboxMessage> lockPending(int maxAttempts, int limit) {
+        return jdbcTemplate.query(LOCK_PENDING_SQL, OUTBOX_MESSAGE_MAPPER, maxAttempts, limit);
+    }
+
+    /**
+     * Read the oldest pending messages without locking them.
+     *
+     * @param maxAttempts messages that failed this many times are no longer pending
+     * @param limit the maximum number of messages
+     * @return the messages, oldest first
+     */
+    public List<OutboxMessage> findPending(int maxAttempts, int limit) {
+        return jdbcTemplate.query(FIND_PENDING_SQL, OUTBOX_MESSAGE_MAPPER, maxAttempts, limit);
+    }
+
+    /**
+     * Lock a single message unless another relay holds it. Must run inside a transaction.
+     *
+     * @param id the message ID
+     * @return true if the message still exists and is now locked
+     */
+    public boolean lock(long id) {
+        return !jdbcTemplate.queryForList(LOCK_SQL, Long.class, id).isEmpty();
+    }
+
+    /**
+     * Remove delivered messages.
+     *
+     * @param ids the message IDs
+     */
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Long[] values = ids.toArray(Long[]::new);
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DELETE_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", values));
+            return statement;
+        });
+    }
+
+    /**
+     * Count a failed delivery of a message.
+     *
+     * @param id the message ID
+     * @param error a description of the failure
+     */
+    public void recordFailure(long id, String error) {
+        jdbcTemplate.update(RECORD_FAILURE_SQL, error, id);
+    }
+}
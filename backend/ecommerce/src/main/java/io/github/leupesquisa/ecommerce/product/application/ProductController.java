@@ -1,20 +1,47 @@
 package io.github.leupesquisa.ecommerce.product.application;
 
+import io.github.leupesquisa.ecommerce.product.application.dto.CategoryFacetDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductAvailabilityDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductBatchGetRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductBatchGetResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCountDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCursorPageDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportReportDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductStockRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentBatchRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentResultDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockMovementPageDto;
+import io.github.leupesquisa.ecommerce.product.application.exporter.ProductExportFormat;
+import io.github.leupesquisa.ecommerce.product.application.importer.ProductImportFormat;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * REST controller for product operations.
  * Uses DTOs for input and output to ensure proper validation and encapsulation.
+ * Read endpoints return strong ETags; requests carrying a matching If-None-Match
+ * header are answered with 304 Not Modified and no body.
  */
 @RestController
 @RequestMapping("/api/products")
@@ -34,7 +61,127 @@ public class ProductController {
     @GetMapping
     public ResponseEntity<Page<ProductResponseDto>> getAllProducts(Pageable pageable) {
         Page<ProductResponseDto> productDtos = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(productDtos);
+        String eTag = ProductETags.of(productDtos.getContent(),
+                productDtos.getNumber(), productDtos.getSize(), productDtos.getTotalElements(), productDtos.getSort());
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(productDtos);
+    }
+
+    /**
+     * Get products using keyset (cursor) pagination.
+     * Selected when the "after" parameter is present; pass it empty for the first page
+     * and then the "nextCursor" of the previous response.
+     *
+     * @param after the opaque cursor of the previous page
+     * @param size the page size
+     * @param sort the sort expression for the first page, such as "name,desc"
+     * @return a page of product DTOs with the cursor of the next page
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<ProductCursorPageDto> getProductsAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort) {
+
+        ProductCursorPageDto productDtos = productService.getProductsAfter(after, size, sort);
+        String eTag = ProductETags.of(productDtos.content(),
+                productDtos.size(), productDtos.hasNext(), productDtos.nextCursor());
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(productDtos);
+    }
+
+    /**
+     * Search products by name, description and SKU.
+     *
+     * @param query the search text
+     * @param pageable the pagination information
+     * @return a page of matching product DTOs, most relevant first
+     */
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductResponseDto>> searchProducts(
+            @RequestParam("q") String query,
+            Pageable pageable) {
+
+        Page<ProductResponseDto> productDtos = productService.searchProducts(query, pageable);
+        String eTag = ProductETags.of(productDtos.getContent(),
+                query, productDtos.getNumber(), productDtos.getSize(), productDtos.getTotalElements());
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(productDtos);
+    }
+
+    /**
+     * Get a slice of products, without the total count.
+     *
+     * @param pageable the pagination information
+     * @return a slice of product DTOs
+     */
+    @GetMapping("/slice")
+    public ResponseEntity<Slice<ProductResponseDto>> getProductSlice(Pageable pageable) {
+        Slice<ProductResponseDto> productDtos = productService.getProductSlice(pageable);
+        String eTag = ProductETags.of(productDtos.getContent(),
+                productDtos.getNumber(), productDtos.getSize(), productDtos.hasNext(), productDtos.getSort());
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(productDtos);
+    }
+
+    /**
+     * Count the products.
+     * The exact count scans the whole table, so only administrators may request it.
+     *
+     * @param exact whether to run an exact count instead of returning the approximate one
+     * @return the product count
+     */
+    @GetMapping("/count")
+    @PreAuthorize("!#exact or hasRole('ADMIN')")
+    public ResponseEntity<ProductCountDto> countProducts(@RequestParam(defaultValue = "false") boolean exact) {
+        return ResponseEntity.ok(productService.countProducts(exact));
+    }
+
+    /**
+     * Get the product and in-stock counts per category.
+     *
+     * @return the category facets
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<List<CategoryFacetDto>> getCategoryFacets() {
+        return ResponseEntity.ok(productService.getCategoryFacets());
+    }
+
+    /**
+     * Export the whole catalog.
+     * The response is streamed from a consistent snapshot of the products table.
+     *
+     * @param format the export format, "ndjson" or "csv"
+     * @return the streamed export
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ProductExportFormat exportFormat = ProductExportFormat.fromParameter(format);
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("products." + exportFormat.getExtension())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(outputStream -> productService.exportProducts(outputStream, exportFormat));
+    }
+
+    /**
+     * Stream live stock updates as Server-Sent Events named "stock".
+     * Updates a client has not received yet are conflated per product, so slow clients get the latest
+     * stock rather than every change. Subscribe before loading the products to show, so no change is missed.
+     *
+     * @param ids the products to receive updates for, up to 100; all products when omitted
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStockUpdates(@RequestParam(required = false) Set<UUID> ids) {
+        return productService.streamStockUpdates(ids);
     }
 
     /**
@@ -46,7 +193,69 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponseDto> getProductById(@PathVariable UUID id) {
         ProductResponseDto productDto = productService.getProductDtoById(id);
-        return ResponseEntity.ok(productDto);
+        return ResponseEntity.ok()
+                .eTag(ProductETags.of(productDto))
+                .body(productDto);
+    }
+
+    /**
+     * Get the stock availability of a product, net of cart reservations.
+     *
+     * @param id the product ID
+     * @return the stock, reserved stock and available stock
+     */
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<ProductAvailabilityDto> getProductAvailability(@PathVariable UUID id) {
+        return ResponseEntity.ok(productService.getProductAvailability(id));
+    }
+
+    /**
+     * Get the stock movement history of a product, most recent first.
+     * For the first page, omit "after"; for the following pages, pass the same range and the
+     * "nextCursor" of the previous response.
+     *
+     * @param id the product ID
+     * @param from the start of the range (ISO date-time, inclusive); defaults to 30 days before its end
+     * @param to the end of the range (ISO date-time, exclusive); defaults to now
+     * @param after the opaque cursor of the previous page
+     * @param size the maximum number of movements to return, up to 500
+     * @return a page of stock movements with the cursor of the next page
+     */
+    @GetMapping("/{id}/stock-movements")
+    public ResponseEntity<StockMovementPageDto> getStockMovements(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size) {
+
+        return ResponseEntity.ok(productService.getStockMovements(id, from, to, after, size));
+    }
+
+    /**
+     * Get several products by ID in one request.
+     *
+     * @param requestDto the product IDs, up to 100
+     * @return the products found, in request order, and the IDs that match no product
+     */
+    @PostMapping("/batch-get")
+    public ResponseEntity<ProductBatchGetResponseDto> getProductsByIds(
+            @Valid @RequestBody ProductBatchGetRequestDto requestDto) {
+
+        return ResponseEntity.ok(productService.getProductDtosByIds(requestDto.ids()));
+    }
+
+    /**
+     * Apply several stock adjustments atomically, e.g. for a supplier delivery or a multi-item order.
+     *
+     * @param requestDto the adjustments, up to 500
+     * @return the stock of each adjusted product before and after the batch
+     */
+    @PostMapping("/stock-adjustments")
+    public ResponseEntity<List<StockAdjustmentResultDto>> adjustStock(
+            @Valid @RequestBody StockAdjustmentBatchRequestDto requestDto) {
+
+        return ResponseEntity.ok(productService.adjustProductStock(requestDto.adjustments()));
     }
 
     /**
@@ -69,6 +278,23 @@ public class ProductController {
                 .body(savedProductDto);
     }
 
+    /**
+     * Import products in bulk.
+     * The body is streamed as newline-delimited JSON (one product per line) or CSV with a header row,
+     * and each row is validated like a single product creation.
+     *
+     * @param contentType the body content type
+     * @param body the file contents
+     * @return the import report, listing the rejected rows
+     */
+    @PostMapping(value = "/import", consumes = {ProductImportFormat.NDJSON_VALUE, ProductImportFormat.CSV_VALUE})
+    public ResponseEntity<ProductImportReportDto> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        return ResponseEntity.ok(productService.importProducts(body, contentType));
+    }
+
     /**
      * Update an existing product.
      *
@@ -85,6 +311,21 @@ public class ProductController {
         return ResponseEntity.ok(updatedProductDto);
     }
 
+    /**
+     * Set the stock of a product, e.g. after a stock count.
+     *
+     * @param id the product ID
+     * @param requestDto the new stock and the reason for the change
+     * @return the updated product DTO
+     */
+    @PutMapping("/{id}/stock")
+    public ResponseEntity<ProductResponseDto> updateProductStock(
+            @PathVariable UUID id,
+            @Valid @RequestBody ProductStockRequestDto requestDto) {
+
+        return ResponseEntity.ok(productService.updateProductStock(id, requestDto.stock(), requestDto.reason()));
+    }
+
     /**
      * Delete a product.
      *
@@ -0,0 +1,59 @@
+package io.github.leupesquisa.ecommerce.product.application;
+
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Computes strong ETags for product responses.
+ * ETags are derived from the product IDs and modification timestamps plus any page
+ * metadata that is part of the response, so they change whenever the payload would,
+ * without serializing the payload to compute them.
+ */
+public final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    /**
+     * Compute the ETag of a single product.
+     *
+     * @param product the product DTO
+     * @return the quoted ETag
+     */
+    public static String of(ProductResponseDto product) {
+        return quote(digest(new StringBuilder().append(versionOf(product))));
+    }
+
+    /**
+     * Compute the ETag of a list of products together with the page metadata.
+     *
+     * @param products the product DTOs, in response order
+     * @param metadata the page metadata included in the response, such as number, size and totals
+     * @return the quoted ETag
+     */
+    public static String of(List<ProductResponseDto> products, Object... metadata) {
+        StringBuilder source = new StringBuilder();
+        for (Object value : metadata) {
+            source.append(value).append('|');
+        }
+        for (ProductResponseDto product : products) {
+            source.append(versionOf(product)).append(';');
+        }
+        return quote(digest(source));
+    }
+
+    private static String versionOf(ProductResponseDto product) {
+        return product.id() + ":" + (product.updatedAt() != null ? product.updatedAt() : product.createdAt());
+    }
+
+    private static String digest(CharSequence source) {
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -1,21 +1,75 @@
 package io.github.leupesquisa.ecommerce.product.application;
 
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartItemRepository;
+import io.github.leupesquisa.ecommerce.core.config.CacheConfig;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
 import io.github.leupesquisa.ecommerce.core.exception.ResourceNotFoundException;
 import io.github.leupesquisa.ecommerce.event.application.EventPublisher;
 import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.product.application.dto.CategoryFacetDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductAvailabilityDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductBatchGetResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportReportDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCountDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCursorPageDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentResultDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockMovementPageDto;
+import io.github.leupesquisa.ecommerce.product.application.exporter.ProductExportFormat;
+import io.github.leupesquisa.ecommerce.product.application.exporter.ProductExporter;
+import io.github.leupesquisa.ecommerce.product.application.importer.ProductImportFormat;
+import io.github.leupesquisa.ecommerce.product.application.importer.ProductImporter;
 import io.github.leupesquisa.ecommerce.product.application.mapper.ProductMapper;
+import io.github.leupesquisa.ecommerce.product.application.pagination.ProductCursor;
+import io.github.leupesquisa.ecommerce.product.application.pagination.ProductCursorCodec;
+import io.github.leupesquisa.ecommerce.product.application.pagination.StockMovementCursor;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductCountEstimator;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductFacetMaintainer;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockStreamHub;
 import io.github.leupesquisa.ecommerce.product.application.validator.ProductValidator;
 import io.github.leupesquisa.ecommerce.product.domain.Product;
+import io.github.leupesquisa.ecommerce.product.domain.ProductCategoryFacet;
+import io.github.leupesquisa.ecommerce.product.domain.StockAdjustment;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
 import io.github.leupesquisa.ecommerce.product.domain.exception.ProductNotFoundException;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductCategoryFacetRepository;
 import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import io.github.resilience4j.retry.Retry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,10 +81,48 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class ProductService {
 
+    /**
+     * Maximum number of products returned by a cursor page.
+     */
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    /**
+     * Maximum length of a full-text search query.
+     */
+    public static final int MAX_SEARCH_QUERY_LENGTH = 200;
+
+    /**
+     * Maximum number of stock movements returned by a history page.
+     */
+    public static final int MAX_STOCK_MOVEMENT_PAGE_SIZE = 500;
+
+    /**
+     * Time range of the stock movement history when no start is given.
+     */
+    public static final Duration DEFAULT_STOCK_MOVEMENT_RANGE = Duration.ofDays(30);
+
+    /**
+     * Maximum number of products a stock stream can be filtered by.
+     */
+    public static final int MAX_STREAM_PRODUCT_IDS = 100;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
     private final ProductValidator productValidator;
     private final EventPublisher eventPublisher;
+    private final ProductCursorCodec productCursorCodec;
+    private final ProductCountEstimator productCountEstimator;
+    private final ProductFacetMaintainer productFacetMaintainer;
+    private final ProductStockManager productStockManager;
+    private final ProductStockStreamHub productStockStreamHub;
+    private final ProductCategoryFacetRepository productCategoryFacetRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final CartItemRepository cartItemRepository;
+    private final ProductImporter productImporter;
+    private final ProductExporter productExporter;
+    private final CacheManager cacheManager;
+    private final Retry stockUpdateRetry;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Get all products with pagination.
@@ -39,21 +131,223 @@ public class ProductService {
      * @return a page of product DTOs
      */
     public Page<ProductResponseDto> getAllProducts(Pageable pageable) {
-        return productRepository.findAll(pageable)
+        return productRepository.findAllDtos(pageable);
+    }
+
+    /**
+     * Search products by name, description and SKU, most relevant first.
+     * Any sort in the pageable is ignored since results are ordered by relevance.
+     *
+     * @param query the search text, in web search syntax
+     * @param pageable the pagination information
+     * @return a page of matching product DTOs
+     * @throws InvalidRequestException if the query is blank or too long
+     */
+    public Page<ProductResponseDto> searchProducts(String query, Pageable pageable) {
+        if (!StringUtils.hasText(query) || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new InvalidRequestException(
+                    "Search query must be between 1 and " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+
+        Pageable unsorted = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : pageable;
+        return productRepository.search(query.trim(), unsorted)
                 .map(productMapper::toResponseDto);
     }
 
+    /**
+     * Get a slice of products without counting the total.
+     *
+     * @param pageable the pagination information
+     * @return a slice of product DTOs
+     */
+    public Slice<ProductResponseDto> getProductSlice(Pageable pageable) {
+        return productRepository.findDtoSlice(pageable);
+    }
+
+    /**
+     * Count the products.
+     *
+     * @param exact whether to run an exact count instead of serving the cached estimate
+     * @return the product count
+     */
+    public ProductCountDto countProducts(boolean exact) {
+        if (exact) {
+            return new ProductCountDto(productRepository.count(), false);
+        }
+        return new ProductCountDto(productCountEstimator.estimate(), true);
+    }
+
+    /**
+     * Get the product and in-stock counts of every non-empty category.
+     *
+     * @return the category facets, ordered by category
+     */
+    public List<CategoryFacetDto> getCategoryFacets() {
+        return productCategoryFacetRepository.findByProductCountGreaterThanOrderByCategoryAsc(0).stream()
+                .map(facet -> new CategoryFacetDto(
+                        ProductCategoryFacet.UNCATEGORIZED.equals(facet.getCategory()) ? null : facet.getCategory(),
+                        facet.getProductCount(),
+                        facet.getInStockCount()))
+                .toList();
+    }
+
+    /**
+     * Get products using keyset (cursor) pagination.
+     * When a cursor is given, its sort takes precedence over the sort expression.
+     *
+     * @param after the opaque cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of products to return
+     * @param sort the sort expression for the first page, such as "name,desc"
+     * @return the page of product DTOs with the cursor of the next page
+     */
+    public ProductCursorPageDto getProductsAfter(String after, int size, String sort) {
+        ProductCursor cursor = StringUtils.hasText(after)
+                ? productCursorCodec.decode(after)
+                : productCursorCodec.first(sort);
+        int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Window<Product> window = productRepository.findBy(cursor.toScrollPosition(), cursor.toSort(), Limit.of(limit));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = productCursorCodec.encode(cursor.next(last));
+        }
+
+        return new ProductCursorPageDto(
+                window.map(productMapper::toResponseDto).getContent(),
+                window.size(),
+                window.hasNext(),
+                nextCursor
+        );
+    }
+
     /**
      * Get a product DTO by ID.
+     * Results are cached; entries are evicted on update, delete and stock changes.
      *
      * @param id the product ID
      * @return the product DTO
      * @throws ProductNotFoundException if the product is not found
      */
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductResponseDto getProductDtoById(UUID id) {
-        Product product = productRepository.findById(id)
+        return productRepository.findDtoById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
-        return productMapper.toResponseDto(product);
+    }
+
+    /**
+     * Get the stock availability of a product.
+     * Reservations are kept as a counter on the product row, so this is a single primary key lookup
+     * regardless of how many carts hold the product.
+     *
+     * @param id the product ID
+     * @return the stock, reserved stock and available stock
+     * @throws ProductNotFoundException if the product is not found
+     */
+    public ProductAvailabilityDto getProductAvailability(UUID id) {
+        return productRepository.findAvailabilityById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+
+    /**
+     * Get the stock movements of a product in a time range, most recent first, using keyset pagination.
+     * The range is always bounded, so only the ledger partitions it covers are read. Movements of deleted
+     * products remain available.
+     *
+     * @param id the product ID
+     * @param from the start of the range, inclusive; defaults to 30 days before its end
+     * @param to the end of the range, exclusive; defaults to now
+     * @param after the opaque cursor returned by the previous page, or null for the first page
+     * @param size the maximum number of movements to return
+     * @return the page of movements with the cursor of the next page
+     * @throws InvalidRequestException if the range is empty or the cursor is malformed
+     */
+    public StockMovementPageDto getStockMovements(UUID id, LocalDateTime from, LocalDateTime to, String after, int size) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(DEFAULT_STOCK_MOVEMENT_RANGE);
+        if (!start.isBefore(end)) {
+            throw new InvalidRequestException("The start of the range must be before its end");
+        }
+        StockMovementCursor cursor = StringUtils.hasText(after) ? StockMovementCursor.decode(after) : null;
+        int limit = Math.min(Math.max(size, 1), MAX_STOCK_MOVEMENT_PAGE_SIZE);
+
+        // Fetch one extra movement to know whether there is a next page
+        List<StockMovement> movements = stockMovementRepository.findByProductId(id, start, end,
+                cursor != null ? cursor.occurredAt() : null, cursor != null ? cursor.id() : null, limit + 1);
+        boolean hasNext = movements.size() > limit;
+        List<StockMovement> page = hasNext ? movements.subList(0, limit) : movements;
+
+        return new StockMovementPageDto(
+                page.stream().map(productMapper::toStockMovementDto).toList(),
+                page.size(),
+                hasNext,
+                hasNext ? StockMovementCursor.after(page.get(page.size() - 1)).encode() : null
+        );
+    }
+
+    /**
+     * Open a stream of live stock updates.
+     * Runs outside a transaction, since the stream outlives the request thread.
+     *
+     * @param productIds the products to receive updates for; null or empty for all products
+     * @return the emitter of the stream
+     * @throws InvalidRequestException if more than 100 product IDs are given
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamStockUpdates(Set<UUID> productIds) {
+        if (productIds != null && productIds.size() > MAX_STREAM_PRODUCT_IDS) {
+            throw new InvalidRequestException("At most " + MAX_STREAM_PRODUCT_IDS + " product IDs can be streamed at once");
+        }
+        return productStockStreamHub.subscribe(productIds != null ? productIds : Set.of());
+    }
+
+    /**
+     * Get several product DTOs by ID.
+     * Products already in the product cache are served from it; the rest are loaded with a single
+     * query and added to the cache. Duplicate IDs are returned once.
+     *
+     * @param ids the product IDs
+     * @return the products found, in request order, and the IDs that match no product
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public ProductBatchGetResponseDto getProductDtosByIds(List<UUID> ids) {
+        Set<UUID> requestedIds = new LinkedHashSet<>(ids);
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+
+        Map<UUID, ProductResponseDto> found = new HashMap<>();
+        List<UUID> uncachedIds = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            ProductResponseDto cached = cache != null ? cache.get(id, ProductResponseDto.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncachedIds.add(id);
+            }
+        }
+
+        if (!uncachedIds.isEmpty()) {
+            for (ProductResponseDto productDto : productRepository.findDtosByIdIn(uncachedIds)) {
+                found.put(productDto.id(), productDto);
+                if (cache != null) {
+                    cache.put(productDto.id(), productDto);
+                }
+            }
+        }
+
+        List<ProductResponseDto> products = new ArrayList<>(found.size());
+        List<UUID> missingIds = new ArrayList<>();
+        for (UUID id : requestedIds) {
+            ProductResponseDto productDto = found.get(id);
+            if (productDto != null) {
+                products.add(productDto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchGetResponseDto(products, missingIds);
     }
 
     /**
@@ -80,74 +374,139 @@ public class ProductService {
 
         Product product = productMapper.toEntity(requestDto);
         Product savedProduct = productRepository.save(product);
+        productFacetMaintainer.productCreated(savedProduct.getCategory(), savedProduct.getStock());
 
         return productMapper.toResponseDto(savedProduct);
     }
 
+    /**
+     * Import products in bulk from a streamed file.
+     * Runs outside a transaction; the importer commits each chunk separately.
+     *
+     * @param inputStream the file contents
+     * @param contentType the content type of the file, NDJSON or CSV
+     * @return the import report
+     * @throws InvalidRequestException if the content type is not supported or the file cannot be read
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ProductImportReportDto importProducts(InputStream inputStream, String contentType) {
+        return productImporter.importProducts(inputStream, ProductImportFormat.fromContentType(contentType));
+    }
+
+    /**
+     * Export the whole catalog as a stream.
+     * Runs outside the service transaction; the exporter reads in its own snapshot transaction.
+     *
+     * @param outputStream the destination
+     * @param format the export format
+     * @throws IOException if the output cannot be written
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportProducts(OutputStream outputStream, ProductExportFormat format) throws IOException {
+        productExporter.exportProducts(outputStream, format);
+    }
+
     /**
      * Update an existing product.
+     * The product row is locked first, so carts cannot reserve stock between the check and the write.
+     * A stock change is published as an inventory stock change, like a direct stock update.
      *
      * @param id the product ID
      * @param requestDto the product update data
      * @return the updated product DTO
      * @throws ProductNotFoundException if the product is not found
+     * @throws InvalidRequestException if the new stock is below the stock reserved by carts
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductResponseDto updateProduct(UUID id, ProductRequestDto requestDto) {
-        Product product = productRepository.findById(id)
+        Product product = productRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
 
         productValidator.validateForUpdate(id, requestDto);
+        if (requestDto.stock() < product.getReservedStock()) {
+            throw new InvalidRequestException("Stock cannot be set below the reserved stock of product " + id);
+        }
 
+        String oldCategory = product.getCategory();
+        int oldStock = product.getStock();
         productMapper.updateEntityFromDto(requestDto, product);
         Product updatedProduct = productRepository.save(product);
+        productFacetMaintainer.productChanged(oldCategory, oldStock, updatedProduct.getCategory(), updatedProduct.getStock());
+        if (updatedProduct.getStock() != oldStock) {
+            eventPublisher.publish(new ProductStockChangedEvent(
+                    id,
+                    updatedProduct.getSku(),
+                    updatedProduct.getName(),
+                    oldStock,
+                    updatedProduct.getStock(),
+                    ProductStockChangedEvent.StockChangeReason.INVENTORY
+            ));
+        }
 
         return productMapper.toResponseDto(updatedProduct);
     }
 
     /**
      * Delete a product.
+     * Cart items holding the product are deleted in the same transaction, before the product row,
+     * matching the order in which carts lock items and products.
      *
      * @param id the product ID
      * @throws ProductNotFoundException if the product is not found
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public void deleteProduct(UUID id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException(id);
-        }
-        productRepository.deleteById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+        cartItemRepository.deleteAllByProductId(id);
+        productRepository.delete(product);
+        productFacetMaintainer.productDeleted(product.getCategory(), product.getStock());
     }
 
     /**
-     * Update the stock of a product.
+     * Set the stock of a product.
+     * The stock is written by a single atomic statement. Each attempt runs in its own transaction; an attempt
+     * that loses a locking race with a concurrent update is retried with jittered exponential backoff.
      *
      * @param id the product ID
      * @param newStock the new stock value
      * @param reason the reason for the stock change
      * @return the updated product DTO
      * @throws ProductNotFoundException if the product is not found
+     * @throws ConcurrencyFailureException if every attempt lost to a concurrent update
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProductResponseDto updateProductStock(UUID id, int newStock, ProductStockChangedEvent.StockChangeReason reason) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new ProductNotFoundException(id));
-
-        int oldStock = product.getStock();
-        product.setStock(newStock);
-        Product updatedProduct = productRepository.save(product);
+        return stockUpdateRetry.executeSupplier(() -> transactionTemplate.execute(status -> {
+            productStockManager.updateStock(id, newStock, reason);
+            return productRepository.findById(id)
+                    .map(productMapper::toResponseDto)
+                    .orElseThrow(() -> new ProductNotFoundException(id));
+        }));
+    }
 
-        // Publish event
-        ProductStockChangedEvent event = new ProductStockChangedEvent(
-                product.getId(),
-                product.getSku(),
-                product.getName(),
-                oldStock,
-                newStock,
-                reason
-        );
-        eventPublisher.publish(event);
+    /**
+     * Apply several stock adjustments in one transaction.
+     * Either every adjustment is applied or, if a product is missing or would end up with negative stock,
+     * none is. Stock change events are recorded in the same transaction. A batch that loses a locking race
+     * is retried as a whole in a new transaction, like a single stock update.
+     *
+     * @param adjustments the adjustments
+     * @return the stock of each adjusted product before and after the batch
+     * @throws ProductNotFoundException if a product is not found
+     * @throws InvalidRequestException if a product does not have enough stock
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StockAdjustmentResultDto> adjustProductStock(List<StockAdjustmentDto> adjustments) {
+        List<StockAdjustment> stockAdjustments = adjustments.stream()
+                .map(adjustment -> new StockAdjustment(adjustment.productId(), adjustment.delta(), adjustment.reason()))
+                .toList();
 
-        return productMapper.toResponseDto(updatedProduct);
+        return stockUpdateRetry.executeSupplier(() -> productStockManager.adjustStock(stockAdjustments)).stream()
+                .map(change -> new StockAdjustmentResultDto(
+                        change.productId(), change.sku(), change.oldStock(), change.newStock()))
+                .toList();
     }
 }
@@ -0,0 +1,11 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+/**
+ * DTO for the product counts of a category.
+ * A null category stands for products without a category.
+ */
+public record CategoryFacetDto(
+        String category,
+        long productCount,
+        long inStockCount
+) {}
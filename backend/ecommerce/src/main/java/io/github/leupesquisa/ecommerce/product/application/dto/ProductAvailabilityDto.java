@@ -0,0 +1,18 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO for the stock availability of a product.
+ *
+ * @param productId the product ID
+ * @param stock the stock on hand
+ * @param reservedStock the stock held by cart reservations
+ * @param availableStock the stock that can still be reserved or sold
+ */
+public record ProductAvailabilityDto(
+        UUID productId,
+        Integer stock,
+        Integer reservedStock,
+        Integer availableStock
+) {}
@@ -0,0 +1,19 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for fetching several products by ID in one request.
+ *
+ * @param ids the product IDs, in the order the products should be returned
+ */
+public record ProductBatchGetRequestDto(
+        @NotEmpty(message = "IDs are required")
+        @Size(max = 100, message = "At most 100 IDs can be requested at once")
+        List<@NotNull(message = "IDs cannot be null") UUID> ids
+) {}
@@ -0,0 +1,15 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the products found by a batch get.
+ *
+ * @param products the products found, in request order
+ * @param missingIds the requested IDs that match no product
+ */
+public record ProductBatchGetResponseDto(
+        List<ProductResponseDto> products,
+        List<UUID> missingIds
+) {}
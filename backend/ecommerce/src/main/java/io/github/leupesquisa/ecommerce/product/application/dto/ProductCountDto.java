@@ -0,0 +1,10 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+/**
+ * DTO for the total number of products.
+ * The count is approximate unless an exact count was requested.
+ */
+public record ProductCountDto(
+        long count,
+        boolean approximate
+) {}
@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO for a keyset-paginated slice of products.
+ * Carries an opaque cursor for the next page instead of total counts.
+ */
+public record ProductCursorPageDto(
+        List<ProductResponseDto> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {}
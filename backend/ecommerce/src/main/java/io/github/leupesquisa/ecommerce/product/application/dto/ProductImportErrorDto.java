@@ -0,0 +1,14 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+/**
+ * DTO describing a row rejected by a bulk product import.
+ *
+ * @param line the line of the row in the uploaded file
+ * @param sku the SKU of the row, if it could be read
+ * @param message why the row was rejected
+ */
+public record ProductImportErrorDto(
+        long line,
+        String sku,
+        String message
+) {}
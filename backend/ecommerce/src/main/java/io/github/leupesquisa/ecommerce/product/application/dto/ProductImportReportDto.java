@@ -0,0 +1,20 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import java.util.List;
+
+/**
+ * DTO summarizing the outcome of a bulk product import.
+ *
+ * @param received the number of rows read from the file
+ * @param imported the number of products created
+ * @param failed the number of rows rejected
+ * @param errors the rejected rows, capped to keep the response small
+ * @param errorsTruncated whether more rows were rejected than are listed in errors
+ */
+public record ProductImportReportDto(
+        long received,
+        long imported,
+        long failed,
+        List<ProductImportErrorDto> errors,
+        boolean errorsTruncated
+) {}
@@ -0,0 +1,20 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO for setting the stock of a product.
+ *
+ * @param stock the new stock value
+ * @param reason the reason for the change
+ */
+public record ProductStockRequestDto(
+        @NotNull(message = "Stock is required")
+        @Min(value = 0, message = "Stock must be greater than or equal to 0")
+        Integer stock,
+
+        @NotNull(message = "Reason is required")
+        StockChangeReason reason
+) {}
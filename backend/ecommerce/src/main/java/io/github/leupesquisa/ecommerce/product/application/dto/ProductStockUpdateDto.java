@@ -0,0 +1,36 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for a live stock update pushed to stream subscribers.
+ *
+ * @param productId the product ID
+ * @param sku the product SKU
+ * @param stock the stock after the change
+ * @param reason the reason for the change
+ * @param changedAt when the stock changed
+ */
+public record ProductStockUpdateDto(
+        UUID productId,
+        String sku,
+        int stock,
+        StockChangeReason reason,
+        LocalDateTime changedAt
+) {
+
+    /**
+     * Create the update for a stock change event.
+     *
+     * @param event the stock change event
+     * @return the update
+     */
+    public static ProductStockUpdateDto of(ProductStockChangedEvent event) {
+        return new ProductStockUpdateDto(event.getProductId(), event.getProductSku(), event.getNewStock(),
+                event.getReason(), event.getTimestamp());
+    }
+}
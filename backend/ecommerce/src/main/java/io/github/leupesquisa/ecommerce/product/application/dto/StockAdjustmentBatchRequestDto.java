@@ -0,0 +1,19 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for applying several stock adjustments in one transaction.
+ *
+ * @param adjustments the adjustments; several adjustments to the same product are summed
+ */
+public record StockAdjustmentBatchRequestDto(
+        @NotEmpty(message = "Adjustments are required")
+        @Size(max = 500, message = "At most 500 adjustments can be applied at once")
+        List<@Valid @NotNull(message = "Adjustments cannot be null") StockAdjustmentDto> adjustments
+) {}
@@ -0,0 +1,24 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * DTO for a single stock adjustment in a batch.
+ *
+ * @param productId the product ID
+ * @param delta the quantity to add, or subtract when negative
+ * @param reason the reason for the change
+ */
+public record StockAdjustmentDto(
+        @NotNull(message = "Product ID is required")
+        UUID productId,
+
+        @NotNull(message = "Delta is required")
+        Integer delta,
+
+        @NotNull(message = "Reason is required")
+        StockChangeReason reason
+) {}
@@ -0,0 +1,18 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO for the stock of a product after a batch adjustment.
+ *
+ * @param productId the product ID
+ * @param sku the product SKU
+ * @param oldStock the stock before the batch
+ * @param newStock the stock after the batch
+ */
+public record StockAdjustmentResultDto(
+        UUID productId,
+        String sku,
+        int oldStock,
+        int newStock
+) {}
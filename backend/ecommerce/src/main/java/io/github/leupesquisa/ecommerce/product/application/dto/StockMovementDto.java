@@ -0,0 +1,27 @@
+package io.github.leupesquisa.ecommerce.product.application.dto;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for an entry of the stock movement ledger.
+ *
+ * @param id the ledger entry ID
+ * @param productId the product ID
+ * @param delta the stock change, negative when stock was taken
+ * @param oldStock the stock before the movement
+ * @param newStock the stock after the movement
+ * @param reason the reason for the movement
+ * @param occurredAt when the stock changed
+ */
+public record StockMovementDto(
+        Long id,
+        UUID productId,
+        int delta,
+        int oldStock,
+        int newStock,
+        StockChangeReason reason,
+        LocalDateTime occurredAt
+) {}
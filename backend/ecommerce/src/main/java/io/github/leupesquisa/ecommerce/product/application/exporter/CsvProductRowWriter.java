@@ -0,0 +1,69 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes RFC 4180 CSV with a header row.
+ * The columns use the names accepted by the bulk import, so an export can be imported elsewhere as is.
+ */
+class CsvProductRowWriter implements ProductRowWriter {
+
+    static final String HEADER = "id,sku,name,description,price,stock,category,image_url,created_at,updated_at";
+
+    private final Writer writer;
+
+    CsvProductRowWriter(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void write(ProductResponseDto product) throws IOException {
+        writeField(product.id(), true);
+        writeField(product.sku(), true);
+        writeField(product.name(), true);
+        writeField(product.description(), true);
+        writeField(product.price() != null ? product.price().toPlainString() : null, true);
+        writeField(product.stock(), true);
+        writeField(product.category(), true);
+        writeField(product.imageUrl(), true);
+        writeField(product.createdAt(), true);
+        writeField(product.updatedAt(), false);
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(Object value, boolean separator) throws IOException {
+        if (value != null) {
+            String text = value.toString();
+            if (needsQuoting(text)) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        if (separator) {
+            writer.write(',');
+        }
+    }
+
+    private static boolean needsQuoting(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
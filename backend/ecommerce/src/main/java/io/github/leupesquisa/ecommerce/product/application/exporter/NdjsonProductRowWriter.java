@@ -0,0 +1,33 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes newline-delimited JSON, one product object per line, in the same shape as the product API.
+ */
+class NdjsonProductRowWriter implements ProductRowWriter {
+
+    private final Writer writer;
+    private final ObjectWriter objectWriter;
+
+    NdjsonProductRowWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectWriter = objectMapper.writerFor(ProductResponseDto.class);
+    }
+
+    @Override
+    public void write(ProductResponseDto product) throws IOException {
+        writer.write(objectWriter.writeValueAsString(product));
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
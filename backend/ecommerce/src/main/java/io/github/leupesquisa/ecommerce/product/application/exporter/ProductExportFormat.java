@@ -0,0 +1,46 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * File formats produced by the product export.
+ */
+public enum ProductExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ProductExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Resolve a format from its request parameter value.
+     *
+     * @param value the format name, such as "ndjson" or "csv"
+     * @return the matching format
+     * @throws InvalidRequestException if the format is not supported
+     */
+    public static ProductExportFormat fromParameter(String value) {
+        for (ProductExportFormat format : values()) {
+            if (format.extension.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        throw new InvalidRequestException("Unsupported export format: " + value);
+    }
+}
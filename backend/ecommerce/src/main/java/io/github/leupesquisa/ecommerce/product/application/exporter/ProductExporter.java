@@ -0,0 +1,103 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Exports the whole product catalog as a stream.
+ * Rows are read through a server-side cursor (a fetch size inside a transaction) and written as they
+ * arrive, so memory use does not depend on the catalog size. The read runs in a single read-only
+ * repeatable-read transaction, so the export is a consistent snapshot even while products change.
+ */
+@Service
+public class ProductExporter {
+
+    static final String EXPORT_SQL = "SELECT id, sku, name, description, price, stock, category, image_url, "
+            + "created_at, updated_at FROM ecommerce.products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public ProductExporter(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${application.products.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Write every product to the output stream.
+     *
+     * @param outputStream the destination; it is flushed but not closed
+     * @param format the file format
+     * @throws IOException if the output cannot be written, for example because the client went away
+     */
+    public void exportProducts(OutputStream outputStream, ProductExportFormat format) throws IOException {
+        ProductRowWriter writer = ProductRowWriter.open(format, outputStream, objectMapper);
+        RowCallbackHandler rowHandler = resultSet -> {
+            try {
+                writer.write(toDto(resultSet));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.query(this::prepareExport, rowHandler);
+                try {
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private PreparedStatement prepareExport(Connection connection) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(EXPORT_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize);
+        return statement;
+    }
+
+    private static ProductResponseDto toDto(ResultSet resultSet) throws SQLException {
+        return new ProductResponseDto(
+                resultSet.getObject("id", UUID.class),
+                resultSet.getString("sku"),
+                resultSet.getString("name"),
+                resultSet.getString("description"),
+                resultSet.getBigDecimal("price"),
+                resultSet.getInt("stock"),
+                resultSet.getString("category"),
+                resultSet.getString("image_url"),
+                resultSet.getObject("created_at", LocalDateTime.class),
+                resultSet.getObject("updated_at", LocalDateTime.class));
+    }
+}
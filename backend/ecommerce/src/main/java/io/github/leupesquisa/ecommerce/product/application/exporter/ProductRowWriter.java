@@ -0,0 +1,50 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes exported products one row at a time.
+ */
+public interface ProductRowWriter {
+
+    /**
+     * Write one product.
+     *
+     * @param product the product to write
+     * @throws IOException if the output cannot be written
+     */
+    void write(ProductResponseDto product) throws IOException;
+
+    /**
+     * Flush any buffered output. The underlying stream is left open.
+     *
+     * @throws IOException if the output cannot be written
+     */
+    void flush() throws IOException;
+
+    /**
+     * Open a writer for the given format.
+     *
+     * @param format the file format
+     * @param outputStream the destination, encoded as UTF-8
+     * @param objectMapper the mapper used for NDJSON rows
+     * @return a row writer
+     * @throws IOException if the file header cannot be written
+     */
+    static ProductRowWriter open(ProductExportFormat format, OutputStream outputStream, ObjectMapper objectMapper)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonProductRowWriter(writer, objectMapper);
+            case CSV -> new CsvProductRowWriter(writer);
+        };
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 CSV with a header row naming the product fields.
+ * Columns are matched by name, case-insensitively ("imageUrl" and "image_url" are equivalent),
+ * unknown columns are ignored and quoted fields may span lines.
+ */
+class CsvProductRowReader implements ProductRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("sku", "name", "price", "stock");
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private int columnCount;
+    private long line;
+
+    CsvProductRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        readHeader();
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        while (true) {
+            long recordLine = line + 1;
+            List<String> fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            return toRow(recordLine, fields);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) {
+            return;
+        }
+        columnCount = header.size();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalize(header.get(i)), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidRequestException("CSV header is missing the '" + column + "' column");
+            }
+        }
+    }
+
+    private ProductImportRow toRow(long recordLine, List<String> fields) {
+        if (fields.size() != columnCount) {
+            return ProductImportRow.failed(recordLine,
+                    "Expected " + columnCount + " fields but found " + fields.size());
+        }
+
+        BigDecimal price;
+        Integer stock;
+        try {
+            String value = value(fields, "price");
+            price = value != null ? new BigDecimal(value) : null;
+        } catch (NumberFormatException e) {
+            return ProductImportRow.failed(recordLine, "Invalid price: " + value(fields, "price"));
+        }
+        try {
+            String value = value(fields, "stock");
+            stock = value != null ? Integer.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return ProductImportRow.failed(recordLine, "Invalid stock: " + value(fields, "stock"));
+        }
+
+        return ProductImportRow.parsed(recordLine, new ProductRequestDto(
+                value(fields, "sku"),
+                value(fields, "name"),
+                value(fields, "description"),
+                price,
+                stock,
+                value(fields, "category"),
+                value(fields, "imageurl")));
+    }
+
+    private String value(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Read one record, honouring quoted fields, escaped quotes and line breaks inside quotes.
+     *
+     * @return the fields of the record, or null at the end of the input
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+        int c;
+
+        while ((c = reader.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String normalize(String column) {
+        return column.replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+    }
+}
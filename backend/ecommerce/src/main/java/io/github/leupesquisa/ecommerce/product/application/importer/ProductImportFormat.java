@@ -0,0 +1,40 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import org.springframework.http.MediaType;
+
+/**
+ * File formats accepted by the bulk product import.
+ */
+public enum ProductImportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Resolve the format of an upload from its content type.
+     *
+     * @param contentType the Content-Type header of the request
+     * @return the matching format
+     * @throws InvalidRequestException if the content type is missing or not supported
+     */
+    public static ProductImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ProductImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new InvalidRequestException("Unsupported import content type: " + contentType);
+    }
+}
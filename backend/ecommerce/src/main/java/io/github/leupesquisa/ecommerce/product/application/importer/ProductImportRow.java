@@ -0,0 +1,26 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+
+/**
+ * A single row read from an import file.
+ * Rows that could not be parsed carry an error instead of a product.
+ *
+ * @param line the line on which the row starts
+ * @param product the parsed product, or null if parsing failed
+ * @param error the parse error, or null if parsing succeeded
+ */
+public record ProductImportRow(
+        long line,
+        ProductRequestDto product,
+        String error
+) {
+
+    static ProductImportRow parsed(long line, ProductRequestDto product) {
+        return new ProductImportRow(line, product, null);
+    }
+
+    static ProductImportRow failed(long line, String error) {
+        return new ProductImportRow(line, null, error);
+    }
+}
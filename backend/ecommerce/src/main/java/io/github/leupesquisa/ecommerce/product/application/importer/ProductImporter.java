@@ -0,0 +1,217 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportErrorDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportReportDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductFacetMaintainer;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Imports products in bulk from a streamed NDJSON or CSV file.
+ * Rows are validated as they are read and inserted in chunks: each chunk checks SKU uniqueness
+ * with a single query and inserts with one JDBC batch in its own transaction, so memory use and
+ * transaction size stay bounded regardless of the file size. A chunk rejected by the database
+ * is retried row by row so that one bad row only fails itself.
+ */
+@Service
+public class ProductImporter {
+
+    static final String INSERT_SQL = "INSERT INTO ecommerce.products "
+            + "(id, sku, name, description, price, stock, category, image_url, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] INSERT_TYPES = {
+            Types.OTHER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC,
+            Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private final ProductRepository productRepository;
+    private final ProductFacetMaintainer productFacetMaintainer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public ProductImporter(ProductRepository productRepository,
+                           ProductFacetMaintainer productFacetMaintainer,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           Validator validator,
+                           ObjectMapper objectMapper,
+                           @Value("${application.products.import.chunk-size:1000}") int chunkSize,
+                           @Value("${application.products.import.max-errors:1000}") int maxErrors) {
+        this.productRepository = productRepository;
+        this.productFacetMaintainer = productFacetMaintainer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Import the products in a file.
+     * Chunks are committed as they are processed, so a failure part way through keeps the
+     * products imported before it.
+     *
+     * @param inputStream the file contents
+     * @param format the file format
+     * @return a report with the number of imported products and the rejected rows
+     * @throws InvalidRequestException if the file cannot be read
+     */
+    public ProductImportReportDto importProducts(InputStream inputStream, ProductImportFormat format) {
+        Report report = new Report(maxErrors);
+
+        try (ProductRowReader reader = ProductRowReader.open(format, inputStream, objectMapper)) {
+            List<ProductImportRow> chunk = new ArrayList<>(chunkSize);
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                report.received++;
+                String error = row.error() != null ? row.error() : validate(row.product());
+                if (error != null) {
+                    report.reject(row, error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, report);
+            }
+        } catch (IOException e) {
+            throw new InvalidRequestException("Import stopped after " + report.imported
+                    + " products: the file could not be read", e);
+        }
+
+        return report.toDto();
+    }
+
+    private void importChunk(List<ProductImportRow> chunk, Report report) {
+        try {
+            report.apply(transactionTemplate.execute(status -> insertNew(chunk)));
+        } catch (DataAccessException e) {
+            for (ProductImportRow row : chunk) {
+                try {
+                    report.apply(transactionTemplate.execute(status -> insertNew(List.of(row))));
+                } catch (DuplicateKeyException rowException) {
+                    // Created concurrently after the existing SKU lookup
+                    report.reject(row, "Product already exists with sku: '" + row.product().sku() + "'");
+                } catch (DataAccessException rowException) {
+                    report.reject(row, "Rejected by the database");
+                }
+            }
+        }
+    }
+
+    /**
+     * Insert the rows whose SKU is not taken yet, in the current transaction.
+     */
+    private ChunkResult insertNew(List<ProductImportRow> rows) {
+        Map<String, ProductImportRow> bySku = new LinkedHashMap<>();
+        List<Rejection> rejections = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            if (bySku.putIfAbsent(row.product().sku(), row) != null) {
+                rejections.add(new Rejection(row, "Duplicate SKU in file: '" + row.product().sku() + "'"));
+            }
+        }
+
+        Set<String> existingSkus = productRepository.findExistingSkus(bySku.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductRequestDto> inserted = new ArrayList<>(bySku.size());
+        List<Object[]> batchArgs = new ArrayList<>(bySku.size());
+        for (ProductImportRow row : bySku.values()) {
+            ProductRequestDto product = row.product();
+            if (existingSkus.contains(product.sku())) {
+                rejections.add(new Rejection(row, "Product already exists with sku: '" + product.sku() + "'"));
+                continue;
+            }
+            inserted.add(product);
+            batchArgs.add(new Object[]{
+                    UUID.randomUUID(), product.sku(), product.name(), product.description(), product.price(),
+                    product.stock(), product.category(), product.imageUrl(), now
+            });
+        }
+
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, INSERT_TYPES);
+            productFacetMaintainer.productsCreated(inserted);
+        }
+        return new ChunkResult(inserted.size(), rejections);
+    }
+
+    private String validate(ProductRequestDto product) {
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Rejection(ProductImportRow row, String message) {}
+
+    private record ChunkResult(int imported, List<Rejection> rejections) {}
+
+    /**
+     * Running totals of an import. Rejections are only recorded once their chunk has committed.
+     */
+    private static final class Report {
+        private final int maxErrors;
+        private final List<ProductImportErrorDto> errors = new ArrayList<>();
+        private long received;
+        private long imported;
+        private long failed;
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void apply(ChunkResult result) {
+            imported += result.imported();
+            result.rejections().forEach(rejection -> reject(rejection.row(), rejection.message()));
+        }
+
+        private void reject(ProductImportRow row, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                String sku = row.product() != null ? row.product().sku() : null;
+                errors.add(new ProductImportErrorDto(row.line(), sku, message));
+            }
+        }
+
+        private ProductImportReportDto toDto() {
+            return new ProductImportReportDto(received, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads products from an import file one row at a time, so the file is never held in memory.
+ */
+public interface ProductRowReader extends Closeable {
+
+    /**
+     * Read the next row.
+     *
+     * @return the next row, or null at the end of the file
+     * @throws IOException if the underlying stream cannot be read
+     */
+    ProductImportRow next() throws IOException;
+
+    /**
+     * Open a reader for the given format.
+     *
+     * @param format the file format
+     * @param inputStream the file contents, decoded as UTF-8
+     * @param objectMapper the mapper used for NDJSON rows
+     * @return a row reader
+     * @throws IOException if the file header cannot be read
+     */
+    static ProductRowReader open(ProductImportFormat format, InputStream inputStream, ObjectMapper objectMapper)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        return switch (format) {
+            case NDJSON -> new NdjsonProductRowReader(reader, objectMapper);
+            case CSV -> new CsvProductRowReader(reader);
+        };
+    }
+}
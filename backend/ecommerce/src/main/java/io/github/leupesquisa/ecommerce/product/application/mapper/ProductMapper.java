@@ -2,7 +2,9 @@ package io.github.leupesquisa.ecommerce.product.application.mapper;
 
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockMovementDto;
 import io.github.leupesquisa.ecommerce.product.domain.Product;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
@@ -27,4 +29,9 @@ public interface ProductMapper {
      * Update existing entity from request DTO
      */
     void updateEntityFromDto(ProductRequestDto requestDto, @MappingTarget Product product);
+
+    /**
+     * Convert stock movement to DTO
+     */
+    StockMovementDto toStockMovementDto(StockMovement movement);
 }
\ No newline at end of file
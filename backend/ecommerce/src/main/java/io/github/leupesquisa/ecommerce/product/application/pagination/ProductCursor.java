@@ -0,0 +1,68 @@
+package io.github.leupesquisa.ecommerce.product.application.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+/**
+ * Decoded keyset cursor for product listings.
+ * Holds the sort property and direction together with the key values of the last
+ * product returned, so the next page can seek directly to the following row.
+ *
+ * @param property the sort property
+ * @param direction the sort direction
+ * @param keys the key values of the last returned product; empty for the first page
+ */
+public record ProductCursor(
+        String property,
+        Sort.Direction direction,
+        Map<String, Object> keys
+) {
+
+    /**
+     * Property used as the unique tie-breaker for every sort.
+     */
+    public static final String ID_PROPERTY = "id";
+
+    /**
+     * Create a cursor pointing at the first page for the given sort.
+     *
+     * @param property the sort property
+     * @param direction the sort direction
+     * @return the initial cursor
+     */
+    public static ProductCursor first(String property, Sort.Direction direction) {
+        return new ProductCursor(property, direction, Map.of());
+    }
+
+    /**
+     * Create the cursor following the given position, keeping the same sort.
+     *
+     * @param position the position of the last returned product
+     * @return the next cursor
+     */
+    public ProductCursor next(KeysetScrollPosition position) {
+        return new ProductCursor(property, direction, position.getKeys());
+    }
+
+    /**
+     * Get the sort to apply, including the ID tie-breaker in the same direction
+     * so that the (property, id) index can serve the query.
+     *
+     * @return the sort
+     */
+    public Sort toSort() {
+        return Sort.by(direction, property, ID_PROPERTY);
+    }
+
+    /**
+     * Get the keyset scroll position for this cursor.
+     *
+     * @return the scroll position
+     */
+    public KeysetScrollPosition toScrollPosition() {
+        return keys.isEmpty() ? ScrollPosition.keyset() : ScrollPosition.forward(keys);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.leupesquisa.ecommerce.product.application.pagination;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encodes and decodes opaque keyset cursors for product listings.
+ * A cursor is the URL-safe Base64 form of a small JSON document holding the sort
+ * and the key values of the last returned product. Only non-null, indexed
+ * properties can be used as sort keys.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCursorCodec {
+
+    private static final String DEFAULT_SORT_PROPERTY = "createdAt";
+
+    private static final Map<String, Function<String, Object>> SORT_PROPERTIES = Map.of(
+            "createdAt", LocalDateTime::parse,
+            "name", value -> value,
+            "sku", value -> value,
+            "price", BigDecimal::new
+    );
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Build the cursor for the first page from a sort expression such as "name,desc".
+     *
+     * @param sort the sort expression, or null for the default sort
+     * @return the initial cursor
+     * @throws InvalidRequestException if the sort property or direction is not supported
+     */
+    public ProductCursor first(String sort) {
+        if (!StringUtils.hasText(sort)) {
+            return ProductCursor.first(DEFAULT_SORT_PROPERTY, Sort.Direction.ASC);
+        }
+
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        validateProperty(property);
+
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new InvalidRequestException("Invalid sort direction: " + parts[1]));
+        }
+        return ProductCursor.first(property, direction);
+    }
+
+    /**
+     * Encode a cursor into its opaque string form.
+     *
+     * @param cursor the cursor to encode
+     * @return the encoded cursor
+     */
+    public String encode(ProductCursor cursor) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        cursor.keys().forEach((key, value) -> keys.put(key, value.toString()));
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(
+                    new CursorPayload(cursor.property(), cursor.direction(), keys));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode product cursor", e);
+        }
+    }
+
+    /**
+     * Decode an opaque cursor.
+     *
+     * @param encoded the encoded cursor
+     * @return the decoded cursor
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    public ProductCursor decode(String encoded) {
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(encoded);
+            CursorPayload payload = objectMapper.readValue(json, new TypeReference<>() {});
+            validateProperty(payload.p());
+
+            String propertyKey = payload.k().get(payload.p());
+            String idKey = payload.k().get(ProductCursor.ID_PROPERTY);
+            if (payload.d() == null || propertyKey == null || idKey == null) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+
+            Map<String, Object> keys = new HashMap<>();
+            keys.put(payload.p(), SORT_PROPERTIES.get(payload.p()).apply(propertyKey));
+            keys.put(ProductCursor.ID_PROPERTY, UUID.fromString(idKey));
+            return new ProductCursor(payload.p(), payload.d(), keys);
+        } catch (InvalidRequestException e) {
+            throw e;
+        } catch (RuntimeException | IOException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    private void validateProperty(String property) {
+        if (!SORT_PROPERTIES.containsKey(property)) {
+            throw new InvalidRequestException("Unsupported sort property for cursor pagination: " + property);
+        }
+    }
+
+    /**
+     * Serialized form of a cursor, kept short since it travels in query strings.
+     */
+    private record CursorPayload(String p, Sort.Direction d, Map<String, String> k) {}
+}
@@ -0,0 +1,57 @@
+package io.github.leupesquisa.ecommerce.product.application.pagination;
+
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset cursor for stock movement history, pointing at the last movement returned.
+ * Encoded as the URL-safe Base64 form of "occurredAt|id".
+ *
+ * @param occurredAt when the last returned movement occurred
+ * @param id the ID of the last returned movement
+ */
+public record StockMovementCursor(LocalDateTime occurredAt, long id) {
+
+    /**
+     * Create the cursor following a movement.
+     *
+     * @param movement the last returned movement
+     * @return the cursor
+     */
+    public static StockMovementCursor after(StockMovement movement) {
+        return new StockMovementCursor(movement.occurredAt(), movement.id());
+    }
+
+    /**
+     * Decode an opaque cursor.
+     *
+     * @param encoded the encoded cursor
+     * @return the decoded cursor
+     * @throws InvalidRequestException if the cursor is malformed
+     */
+    public static StockMovementCursor decode(String encoded) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new StockMovementCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encode this cursor into its opaque string form.
+     *
+     * @return the encoded cursor
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((occurredAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
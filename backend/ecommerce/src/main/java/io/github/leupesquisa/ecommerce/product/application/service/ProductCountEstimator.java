@@ -0,0 +1,66 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serves an approximate total number of products.
+ * The estimate is read from the planner statistics in pg_class and kept in memory
+ * for a configurable interval, so listing totals never run a count query per request.
+ * Falls back to an exact count while the table has not been analyzed yet.
+ */
+@Component
+public class ProductCountEstimator {
+
+    private final ProductRepository productRepository;
+    private final Duration refreshInterval;
+
+    private volatile Estimate estimate;
+
+    public ProductCountEstimator(
+            ProductRepository productRepository,
+            @Value("${application.products.count.refresh-interval:60s}") Duration refreshInterval) {
+        this.productRepository = productRepository;
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Get the approximate number of products.
+     *
+     * @return the approximate count
+     */
+    public long estimate() {
+        Estimate current = estimate;
+        if (current == null || current.isOlderThan(refreshInterval)) {
+            current = refresh();
+        }
+        return current.count();
+    }
+
+    private synchronized Estimate refresh() {
+        Estimate current = estimate;
+        if (current != null && !current.isOlderThan(refreshInterval)) {
+            return current;
+        }
+
+        long count = productRepository.estimateCount();
+        if (count <= 0) {
+            count = productRepository.count();
+        }
+
+        current = new Estimate(count, Instant.now());
+        estimate = current;
+        return current;
+    }
+
+    private record Estimate(long count, Instant refreshedAt) {
+
+        boolean isOlderThan(Duration interval) {
+            return refreshedAt.plus(interval).isBefore(Instant.now());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+import io.github.leupesquisa.ecommerce.product.domain.ProductCategoryFacet;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductCategoryFacetRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the per-category product counts current.
+ * Every product change is applied as a delta to the aggregate in the same transaction,
+ * so facet reads never have to group over the products table.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFacetMaintainer {
+
+    private final ProductCategoryFacetRepository facetRepository;
+    private final ProductRepository productRepository;
+
+    /**
+     * Count a newly created product.
+     *
+     * @param category the product category
+     * @param stock the product stock
+     */
+    @Transactional
+    public void productCreated(String category, int stock) {
+        facetRepository.applyDelta(keyOf(category), 1, inStock(stock));
+    }
+
+    /**
+     * Count a batch of newly created products with one delta per category.
+     *
+     * @param products the created products
+     */
+    @Transactional
+    public void productsCreated(Collection<ProductRequestDto> products) {
+        Map<String, long[]> deltas = products.stream()
+                .collect(Collectors.toMap(product -> keyOf(product.category()),
+                        product -> new long[]{1, inStock(product.stock())},
+                        (left, right) -> new long[]{left[0] + right[0], left[1] + right[1]}));
+        deltas.forEach((category, delta) -> facetRepository.applyDelta(category, delta[0], delta[1]));
+    }
+
+    /**
+     * Stop counting a deleted product.
+     *
+     * @param category the product category
+     * @param stock the product stock before deletion
+     */
+    @Transactional
+    public void productDeleted(String category, int stock) {
+        facetRepository.applyDelta(keyOf(category), -1, -inStock(stock));
+    }
+
+    /**
+     * Move a product between categories and stock states as needed.
+     *
+     * @param oldCategory the category before the change
+     * @param oldStock the stock before the change
+     * @param newCategory the category after the change
+     * @param newStock the stock after the change
+     */
+    @Transactional
+    public void productChanged(String oldCategory, int oldStock, String newCategory, int newStock) {
+        String oldKey = keyOf(oldCategory);
+        String newKey = keyOf(newCategory);
+
+        if (oldKey.equals(newKey)) {
+            long inStockDelta = inStock(newStock) - inStock(oldStock);
+            if (inStockDelta != 0) {
+                facetRepository.applyDelta(newKey, 0, inStockDelta);
+            }
+            return;
+        }
+
+        facetRepository.applyDelta(oldKey, -1, -inStock(oldStock));
+        facetRepository.applyDelta(newKey, 1, inStock(newStock));
+    }
+
+    /**
+     * Update the in-stock count when a stock change moves a product in or out of stock.
+     * Must be called in the transaction that changed the stock: the product row is still locked by that
+     * change, so the category read here is the one the stock belongs to. Changes that keep the product on
+     * the same side of zero need no database access.
+     *
+     * @param productId the product ID
+     * @param oldStock the stock before the change
+     * @param newStock the stock after the change
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void stockChanged(UUID productId, int oldStock, int newStock) {
+        long inStockDelta = inStock(newStock) - inStock(oldStock);
+        if (inStockDelta == 0) {
+            return;
+        }
+
+        productRepository.findFacetCategoryById(productId)
+                .ifPresent(category -> facetRepository.applyDelta(category, 0, inStockDelta));
+    }
+
+    private static String keyOf(String category) {
+        return category != null ? category : ProductCategoryFacet.UNCATEGORIZED;
+    }
+
+    private static long inStock(int stock) {
+        return stock > 0 ? 1 : 0;
+    }
+}
@@ -1,99 +1,234 @@
 package io.github.leupesquisa.ecommerce.product.application.service;
 
+import io.github.leupesquisa.ecommerce.core.config.CacheConfig;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
 import io.github.leupesquisa.ecommerce.event.application.EventPublisher;
 import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
-import io.github.leupesquisa.ecommerce.product.domain.Product;
+import io.github.leupesquisa.ecommerce.product.domain.StockAdjustment;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevel;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevelChange;
 import io.github.leupesquisa.ecommerce.product.domain.exception.ProductNotFoundException;
 import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductStockRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Service for managing product stock.
+ * Every change is a single atomic statement; the stock change event is built from the values
+ * the database returns, so it always reflects what was actually written. The category facets are
+ * updated in the same transaction, so they commit or roll back with the stock. The cached product is
+ * evicted after the commit, so a concurrent read cannot repopulate the cache with the old stock value.
  */
 @Service
 @RequiredArgsConstructor
 public class ProductStockManager {
 
+    private final ProductStockRepository productStockRepository;
     private final ProductRepository productRepository;
+    private final ProductFacetMaintainer productFacetMaintainer;
     private final EventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
     /**
-     * Update the stock of a product.
+     * Set the stock of a product to an absolute value, e.g. after a stock count.
      *
      * @param productId the product ID
      * @param newStock the new stock value
-     * @return the updated product
+     * @param reason the reason for the change
+     * @return the stock change
      * @throws ProductNotFoundException if the product is not found
+     * @throws InvalidRequestException if carts reserve more than the new stock value
      */
     @Transactional
-    public Product updateStock(UUID productId, int newStock) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
+    public StockLevelChange updateStock(UUID productId, int newStock, ProductStockChangedEvent.StockChangeReason reason) {
+        StockLevelChange change = productStockRepository.setStock(productId, newStock)
+                .orElseThrow(() -> productRepository.existsById(productId)
+                        ? new InvalidRequestException("Stock cannot be set below the reserved stock of product "
+                                + productId)
+                        : new ProductNotFoundException(productId));
+        publish(change, reason);
+        return change;
+    }
 
-        int oldStock = product.getStock();
-        product.setStock(newStock);
-        Product updatedProduct = productRepository.save(product);
+    /**
+     * Apply several stock adjustments in one transaction.
+     * Adjustments to the same product are summed. The affected rows are locked in product ID order before
+     * the batch update, so concurrent batches over overlapping products wait for each other instead of
+     * deadlocking. One stock change event per product is published in the transaction, with the reason of
+     * the product's largest adjustment.
+     *
+     * @param adjustments the adjustments
+     * @return the stock change of each product, in order of first appearance
+     * @throws ProductNotFoundException if a product is not found; nothing is changed
+     * @throws InvalidRequestException if the adjustments of a product sum beyond the stock range, or a product would
+     * end up with less stock than it has reserved or more than the maximum; nothing is changed
+     */
+    @Transactional
+    public List<StockLevelChange> adjustStock(List<StockAdjustment> adjustments) {
+        Map<UUID, Integer> deltas = new LinkedHashMap<>();
+        Map<UUID, StockAdjustment> largest = new HashMap<>();
+        for (StockAdjustment adjustment : adjustments) {
+            deltas.merge(adjustment.productId(), adjustment.delta(),
+                    (sum, delta) -> addDelta(adjustment.productId(), sum, delta));
+            largest.merge(adjustment.productId(), adjustment, (current, candidate) ->
+                    Math.abs(candidate.delta()) > Math.abs(current.delta()) ? candidate : current);
+        }
 
-        // Publish event
-        ProductStockChangedEvent event = new ProductStockChangedEvent(
-                product.getId(),
-                product.getSku(),
-                product.getName(),
-                oldStock,
-                newStock
-        );
-        eventPublisher.publish(event);
+        List<StockLevelChange> changes = applyAdjustments(deltas);
+        changes.forEach(change -> publish(change, largest.get(change.productId()).reason()));
+        return changes;
+    }
+
+    private List<StockLevelChange> applyAdjustments(Map<UUID, Integer> deltas) {
+        Map<UUID, StockLevel> levels = lockStockLevels(deltas.keySet());
+
+        deltas.forEach((productId, delta) -> {
+            StockLevel level = levels.get(productId);
+            if (level == null) {
+                throw new ProductNotFoundException(productId);
+            }
+            // Reserved stock belongs to carts, so only the available stock may be taken
+            if (level.available() + delta < 0) {
+                throw new InvalidRequestException("Not enough stock available for product " + productId);
+            }
+            // The new stock must still fit the column
+            addDelta(productId, level.stock(), delta);
+        });
 
-        return updatedProduct;
+        // The update re-checks the stock, so a row skipped here was changed by a writer that bypassed the row locks
+        Map<UUID, StockLevelChange> applied = requireApplied(deltas.keySet(),
+                productStockRepository.applyStockDeltas(deltas), "Not enough stock available for product ");
+        return deltas.keySet().stream().map(applied::get).toList();
     }
 
     /**
-     * Increase the stock of a product.
+     * Reserve stock of a product for a cart.
+     * Reserved stock stays in the product's stock but is no longer available to decreases or other reservations.
      *
      * @param productId the product ID
-     * @param quantity the quantity to add
-     * @return the updated product
+     * @param quantity the quantity to reserve
      * @throws ProductNotFoundException if the product is not found
-     * @throws IllegalArgumentException if the quantity is negative
+     * @throws InvalidRequestException if less unreserved stock than the quantity is available
      */
     @Transactional
-    public Product increaseStock(UUID productId, int quantity) {
-        if (quantity < 0) {
-            throw new IllegalArgumentException("Quantity to increase must be positive");
+    public void reserveStock(UUID productId, int quantity) {
+        if (!productStockRepository.reserveStock(productId, quantity)) {
+            throw productRepository.existsById(productId)
+                    ? new InvalidRequestException("Not enough stock available for product " + productId)
+                    : new ProductNotFoundException(productId);
         }
+    }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
-
-        return updateStock(productId, product.getStock() + quantity);
+    /**
+     * Release reserved stock of several products.
+     * The rows are locked in product ID order first, like batch adjustments.
+     *
+     * @param quantities the quantity to release per product ID
+     */
+    @Transactional
+    public void releaseReservedStock(Map<UUID, Integer> quantities) {
+        lockStockLevels(quantities.keySet());
+        productStockRepository.releaseReservedStock(quantities);
     }
 
     /**
-     * Decrease the stock of a product.
+     * Sell reserved stock of several products, e.g. when a cart is checked out.
+     * The rows are locked in product ID order first, like batch adjustments, and one stock change event
+     * with the ORDER reason is published per product. Products that no longer exist are skipped.
      *
-     * @param productId the product ID
-     * @param quantity the quantity to subtract
-     * @return the updated product
-     * @throws ProductNotFoundException if the product is not found
-     * @throws IllegalArgumentException if the quantity is negative or greater than the current stock
+     * @param quantities the reserved quantity to sell per product ID
+     * @return the stock change of each product
+     * @throws InvalidRequestException if a product holds less reserved stock than its quantity; nothing is changed
      */
     @Transactional
-    public Product decreaseStock(UUID productId, int quantity) {
-        if (quantity < 0) {
-            throw new IllegalArgumentException("Quantity to decrease must be positive");
+    public List<StockLevelChange> commitReservedStock(Map<UUID, Integer> quantities) {
+        Map<UUID, StockLevel> levels = lockStockLevels(quantities.keySet());
+        levels.values().stream()
+                .filter(level -> level.reservedStock() < quantities.get(level.productId()))
+                .findFirst()
+                .ifPresent(level -> {
+                    throw new InvalidRequestException("Not enough reserved stock for product " + level.productId());
+                });
+
+        List<StockLevelChange> changes = requireApplied(levels.keySet(),
+                productStockRepository.commitReservedStock(quantities), "Not enough reserved stock for product ")
+                .values().stream().toList();
+        changes.forEach(change -> publish(change, ProductStockChangedEvent.StockChangeReason.ORDER));
+        return changes;
+    }
+
+    private static int addDelta(UUID productId, int value, int delta) {
+        long sum = (long) value + delta;
+        if (sum > Integer.MAX_VALUE || sum < Integer.MIN_VALUE) {
+            throw new InvalidRequestException("Stock adjustment out of range for product " + productId);
         }
+        return (int) sum;
+    }
+
+    private Map<UUID, StockLevel> lockStockLevels(Collection<UUID> productIds) {
+        Map<UUID, StockLevel> levels = new HashMap<>();
+        productStockRepository.lockStockLevels(productIds).forEach(level -> levels.put(level.productId(), level));
+        return levels;
+    }
 
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new ProductNotFoundException(productId));
+    private static Map<UUID, StockLevelChange> requireApplied(Collection<UUID> productIds, List<StockLevelChange> changes,
+                                                              String message) {
+        Map<UUID, StockLevelChange> applied = new HashMap<>();
+        changes.forEach(change -> applied.put(change.productId(), change));
+        productIds.stream()
+                .filter(productId -> !applied.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> {
+                    throw new InvalidRequestException(message + productId);
+                });
+        return applied;
+    }
 
-        if (product.getStock() < quantity) {
-            throw new IllegalArgumentException("Not enough stock available");
+    private void publish(StockLevelChange change, ProductStockChangedEvent.StockChangeReason reason) {
+        productFacetMaintainer.stockChanged(change.productId(), change.oldStock(), change.newStock());
+        evictCachedProduct(change.productId());
+
+        ProductStockChangedEvent event = new ProductStockChangedEvent(
+                change.productId(),
+                change.sku(),
+                change.name(),
+                change.oldStock(),
+                change.newStock(),
+                reason
+        );
+        eventPublisher.publish(event);
+    }
+
+    private void evictCachedProduct(UUID productId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(productId);
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(productId);
+            }
+        });
+    }
 
-        return updateStock(productId, product.getStock() - quantity);
+    private void evict(UUID productId) {
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            cache.evict(productId);
+        }
     }
-}
\ No newline at end of file
+}
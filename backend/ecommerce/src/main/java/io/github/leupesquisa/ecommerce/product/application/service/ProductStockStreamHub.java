@@ -0,0 +1,187 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductStockUpdateDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fan-out hub for live stock updates over Server-Sent Events.
+ * Connections are held as async servlet requests, so an idle subscriber costs no thread. Committed stock
+ * changes are put in a per-subscriber map keyed by product, which conflates updates a subscriber has not
+ * received yet into the latest one, and a small executor writes them with at most one task per subscriber.
+ * Publishers never wait on a client socket.
+ * <p>
+ * A subscriber that falls more than max-pending products behind is disconnected; clients reconnect and
+ * reload the products they show. Idle connections receive a comment every heartbeat interval so proxies
+ * keep them open and dead clients are detected.
+ */
+@Component
+public class ProductStockStreamHub {
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final TaskExecutor productStreamExecutor;
+    private final Duration timeout;
+    private final int maxPending;
+    private final Counter conflated;
+    private final Counter evicted;
+
+    public ProductStockStreamHub(@Qualifier("productStreamExecutor") TaskExecutor productStreamExecutor,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${application.products.stream.timeout:30m}") Duration timeout,
+                                 @Value("${application.products.stream.max-pending:1000}") int maxPending) {
+        this.productStreamExecutor = productStreamExecutor;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.conflated = Counter.builder("products.stream.conflated")
+                .description("Stock updates replaced by a newer update before reaching a subscriber")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("products.stream.evicted")
+                .description("Stream subscribers disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("products.stream.subscribers", subscribers, Set::size)
+                .description("Open stock stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream of stock updates.
+     *
+     * @param productIds the products to receive updates for; empty for all products
+     * @return the emitter of the stream
+     */
+    public SseEmitter subscribe(Set<UUID> productIds) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(productIds));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Queue a committed stock change for the subscribers interested in the product.
+     *
+     * @param event the stock change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductStockChanged(ProductStockChangedEvent event) {
+        ProductStockUpdateDto update = ProductStockUpdateDto.of(event);
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.wants(update.productId())) {
+                continue;
+            }
+            if (subscriber.pending.put(update.productId(), update) != null) {
+                conflated.increment();
+            } else if (subscriber.pending.size() > maxPending) {
+                evict(subscriber);
+                continue;
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Send a heartbeat to every subscriber that receives no update before it is written.
+     */
+    @Scheduled(fixedRateString = "${application.products.stream.heartbeat-interval:15s}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat.set(true);
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Close all streams so the application can stop without waiting for the async request timeout.
+     */
+    @PreDestroy
+    public void closeAll() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            productStreamExecutor.execute(() -> write(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.scheduled.set(false);
+            evict(subscriber);
+        }
+    }
+
+    private void write(Subscriber subscriber) {
+        try {
+            boolean sent = false;
+            for (UUID productId : subscriber.pending.keySet()) {
+                ProductStockUpdateDto update = subscriber.pending.remove(productId);
+                if (update != null) {
+                    subscriber.emitter.send(SseEmitter.event().name("stock").data(update));
+                    sent = true;
+                }
+            }
+            if (subscriber.heartbeat.getAndSet(false) && !sent) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream was already closed
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+        // Updates queued while this task was finishing would otherwise wait for the next change
+        if (!subscriber.pending.isEmpty() && subscribers.contains(subscriber)) {
+            schedule(subscriber);
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            evicted.increment();
+            subscriber.emitter.complete();
+        }
+    }
+
+    /**
+     * An open stream with the updates it has not received yet.
+     */
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<UUID> productIds;
+        private final Map<UUID, ProductStockUpdateDto> pending = new ConcurrentHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<UUID> productIds) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+        }
+
+        private boolean wants(UUID productId) {
+            return productIds.isEmpty() || productIds.contains(productId);
+        }
+    }
+}
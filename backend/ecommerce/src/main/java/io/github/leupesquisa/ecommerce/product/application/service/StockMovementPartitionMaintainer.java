@@ -0,0 +1,62 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Keeps the monthly partitions of the stock movement ledger ahead of time.
+ * Runs at startup and then periodically, creating the partitions of the current month and the configured
+ * number of months ahead, so movements never land in the default partition. When a retention is
+ * configured, partitions of months older than the retention are dropped as a whole, which is cheaper than
+ * deleting rows and leaves no bloat behind. A retention of 0 keeps the full history.
+ * A month whose partition cannot be created, e.g. because the default partition already holds some of its
+ * movements, is logged and skipped; see {@link StockMovementRepository#createPartition} for moving them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.products.stock.movements.enabled", havingValue = "true", matchIfMissing = true)
+public class StockMovementPartitionMaintainer {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public StockMovementPartitionMaintainer(StockMovementRepository stockMovementRepository,
+                                            @Value("${application.products.stock.movements.partitions-ahead:2}") int monthsAhead,
+                                            @Value("${application.products.stock.movements.retention-months:0}") int retentionMonths) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    /**
+     * Create missing partitions and drop expired ones.
+     */
+    @Scheduled(fixedDelayString = "${application.products.stock.movements.maintenance-interval:6h}")
+    public void maintainPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                stockMovementRepository.createPartition(month);
+            } catch (DataAccessException e) {
+                log.warn("Could not create the stock movement partition of {}; its movements stay in the default partition",
+                        month, e);
+            }
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth oldestKept = current.minusMonths(retentionMonths);
+            stockMovementRepository.findPartitionedMonths().stream()
+                    .filter(month -> month.isBefore(oldestKept))
+                    .forEach(stockMovementRepository::dropPartition);
+        }
+    }
+}
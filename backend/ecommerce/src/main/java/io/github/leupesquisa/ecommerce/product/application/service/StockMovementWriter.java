@@ -0,0 +1,90 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.event.application.DomainEventSink;
+import io.github.leupesquisa.ecommerce.event.domain.DomainEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writer for the stock movement ledger.
+ * Stock change events are turned into movements as they are dispatched. Movements dispatched inside a
+ * transaction are collected and written in one JDBC batch just before it commits, so they commit or roll back
+ * with the transaction that consumed the event: the stock change itself, or the outbox relay batch that
+ * delivers it. A failed write fails that transaction, and the outbox keeps the events for the next relay run.
+ * Events dispatched outside a transaction are written immediately.
+ */
+@Component
+@ConditionalOnProperty(name = "application.products.stock.movements.enabled", havingValue = "true", matchIfMissing = true)
+public class StockMovementWriter implements DomainEventSink {
+
+    private final StockMovementRepository stockMovementRepository;
+    private final Counter written;
+
+    public StockMovementWriter(StockMovementRepository stockMovementRepository, MeterRegistry meterRegistry) {
+        this.stockMovementRepository = stockMovementRepository;
+        this.written = Counter.builder("stock.movements.written")
+                .description("Stock movements written to the ledger")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void accept(DomainEvent event) {
+        if (!(event instanceof ProductStockChangedEvent stockEvent) || stockEvent.getStockDifference() == 0) {
+            return;
+        }
+        StockMovement movement = StockMovement.of(stockEvent);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(List.of(movement));
+            return;
+        }
+        pendingMovements().add(movement);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<StockMovement> pendingMovements() {
+        List<StockMovement> pending = (List<StockMovement>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        List<StockMovement> movements = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, movements);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(StockMovementWriter.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(StockMovementWriter.this, movements);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                write(movements);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(StockMovementWriter.this);
+            }
+        });
+        return movements;
+    }
+
+    private void write(List<StockMovement> movements) {
+        stockMovementRepository.insertAll(movements);
+        written.increment(movements.size());
+    }
+}
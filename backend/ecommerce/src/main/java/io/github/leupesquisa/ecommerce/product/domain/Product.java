@@ -32,9 +32,19 @@ public class Product extends Auditable {
     @Column(nullable = false)
     private Integer stock;
 
+    /**
+     * Stock held by cart reservations; maintained by SQL only, never written through the entity.
+     */
+    @Column(name = "reserved_stock", insertable = false, updatable = false)
+    private Integer reservedStock;
+
     @Column
     private String category;
 
     @Column
     private String imageUrl;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
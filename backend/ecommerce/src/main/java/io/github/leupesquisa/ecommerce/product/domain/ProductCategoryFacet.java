@@ -0,0 +1,33 @@
+package io.github.leupesquisa.ecommerce.product.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Per-category product counts, maintained incrementally as products change.
+ * Products without a category are counted under the empty category.
+ */
+@Entity
+@Table(name = "product_category_facets", schema = "ecommerce")
+@Getter
+@Setter
+public class ProductCategoryFacet {
+
+    /**
+     * Category key used for products without a category.
+     */
+    public static final String UNCATEGORIZED = "";
+
+    @Id
+    private String category;
+
+    @Column(name = "product_count", nullable = false)
+    private long productCount;
+
+    @Column(name = "in_stock_count", nullable = false)
+    private long inStockCount;
+}
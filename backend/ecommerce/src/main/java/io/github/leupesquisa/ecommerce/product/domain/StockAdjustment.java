@@ -0,0 +1,18 @@
+package io.github.leupesquisa.ecommerce.product.domain;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+
+import java.util.UUID;
+
+/**
+ * A relative change to the stock of a product, as part of a batch adjustment.
+ *
+ * @param productId the product ID
+ * @param delta the quantity to add, or subtract when negative
+ * @param reason the reason for the change
+ */
+public record StockAdjustment(
+        UUID productId,
+        int delta,
+        StockChangeReason reason
+) {}
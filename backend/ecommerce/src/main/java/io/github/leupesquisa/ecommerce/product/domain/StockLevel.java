@@ -0,0 +1,26 @@
+package io.github.leupesquisa.ecommerce.product.domain;
+
+import java.util.UUID;
+
+/**
+ * The current stock of a product, as read under a row lock.
+ *
+ * @param productId the product ID
+ * @param stock the stock on hand, including reserved stock
+ * @param reservedStock the stock held by carts
+ */
+public record StockLevel(
+        UUID productId,
+        int stock,
+        int reservedStock
+) {
+
+    /**
+     * The stock that is not held by carts and may be decreased or reserved.
+     *
+     * @return the available stock
+     */
+    public int available() {
+        return stock - reservedStock;
+    }
+}
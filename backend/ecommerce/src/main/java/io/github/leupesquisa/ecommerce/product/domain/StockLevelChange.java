@@ -0,0 +1,20 @@
+package io.github.leupesquisa.ecommerce.product.domain;
+
+import java.util.UUID;
+
+/**
+ * The outcome of a stock update, as reported by the database in the same statement.
+ *
+ * @param productId the product ID
+ * @param sku the product SKU
+ * @param name the product name
+ * @param oldStock the stock before the update
+ * @param newStock the stock after the update
+ */
+public record StockLevelChange(
+        UUID productId,
+        String sku,
+        String name,
+        int oldStock,
+        int newStock
+) {}
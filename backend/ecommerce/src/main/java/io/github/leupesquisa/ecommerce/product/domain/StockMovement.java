@@ -0,0 +1,40 @@
+package io.github.leupesquisa.ecommerce.product.domain;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An entry of the append-only stock movement ledger.
+ *
+ * @param id the ledger entry ID, or null before it is written
+ * @param productId the product ID
+ * @param delta the stock change, negative when stock was taken
+ * @param oldStock the stock before the movement
+ * @param newStock the stock after the movement
+ * @param reason the reason for the movement
+ * @param occurredAt when the stock changed
+ */
+public record StockMovement(
+        Long id,
+        UUID productId,
+        int delta,
+        int oldStock,
+        int newStock,
+        StockChangeReason reason,
+        LocalDateTime occurredAt
+) {
+
+    /**
+     * Create the ledger entry recording a stock change event.
+     *
+     * @param event the stock change event
+     * @return the unsaved ledger entry
+     */
+    public static StockMovement of(ProductStockChangedEvent event) {
+        return new StockMovement(null, event.getProductId(), event.getStockDifference(),
+                event.getOldStock(), event.getNewStock(), event.getReason(), event.getTimestamp());
+    }
+}
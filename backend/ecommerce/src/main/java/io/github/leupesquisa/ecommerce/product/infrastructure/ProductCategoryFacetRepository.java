@@ -0,0 +1,42 @@
+package io.github.leupesquisa.ecommerce.product.infrastructure;
+
+import io.github.leupesquisa.ecommerce.product.domain.ProductCategoryFacet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * JPA repository for ProductCategoryFacet entities.
+ */
+public interface ProductCategoryFacetRepository extends JpaRepository<ProductCategoryFacet, String> {
+
+    /**
+     * Find the categories with more than the given number of products, ordered by category.
+     *
+     * @param productCount the exclusive lower bound on the number of products
+     * @return the non-empty category facets
+     */
+    List<ProductCategoryFacet> findByProductCountGreaterThanOrderByCategoryAsc(long productCount);
+
+    /**
+     * Atomically add deltas to the counts of a category, creating the row if needed.
+     *
+     * @param category the category key
+     * @param productDelta the change in the number of products
+     * @param inStockDelta the change in the number of products in stock
+     * @return the number of rows affected
+     */
+    @Modifying
+    @Query(value = "INSERT INTO ecommerce.product_category_facets AS f (category, product_count, in_stock_count) "
+            + "VALUES (:category, :productDelta, :inStockDelta) "
+            + "ON CONFLICT (category) DO UPDATE SET "
+            + "product_count = f.product_count + EXCLUDED.product_count, "
+            + "in_stock_count = f.in_stock_count + EXCLUDED.in_stock_count",
+            nativeQuery = true)
+    int applyDelta(@Param("category") String category,
+                   @Param("productDelta") long productDelta,
+                   @Param("inStockDelta") long inStockDelta);
+}
@@ -1,11 +1,25 @@
 package io.github.leupesquisa.ecommerce.product.infrastructure;
 
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductAvailabilityDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
 import io.github.leupesquisa.ecommerce.product.domain.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -14,6 +28,18 @@ import java.util.UUID;
  */
 public interface ProductRepository extends JpaRepository<Product, UUID> {
 
+    /**
+     * JPQL constructor expression projecting a product row straight into its response DTO.
+     */
+    String RESPONSE_DTO_PROJECTION = "SELECT new io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto("
+            + "p.id, p.sku, p.name, p.description, p.price, p.stock, p.category, p.imageUrl, p.createdAt, p.updatedAt) "
+            + "FROM Product p";
+
+    /**
+     * Full-text query matching both stemmed words and exact tokens such as SKUs.
+     */
+    String SEARCH_QUERY = "(websearch_to_tsquery('english', :q) || websearch_to_tsquery('simple', :q))";
+
     /**
      * Check if a product with the given SKU exists.
      * 
@@ -22,6 +48,16 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      */
     boolean existsBySku(String sku);
 
+    /**
+     * Find and lock a product, so its stock and reserved stock cannot change until the transaction ends.
+     *
+     * @param id the product ID
+     * @return an Optional containing the locked product if found, empty otherwise
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") UUID id);
+
     /**
      * Find a product by its SKU.
      * 
@@ -40,4 +76,112 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
      */
     @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Product p WHERE p.sku = :sku AND p.id != :id")
     boolean existsBySkuAndIdNot(@Param("sku") String sku, @Param("id") UUID id);
+
+    /**
+     * Find which of the given SKUs are already taken.
+     * Lets bulk operations check uniqueness with one query per batch instead of one per row.
+     *
+     * @param skus the SKUs to check
+     * @return the subset of the SKUs that already exist
+     */
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    Set<String> findExistingSkus(@Param("skus") Collection<String> skus);
+
+    /**
+     * Find the facet category key of a product.
+     * Products without a category map to the empty key.
+     *
+     * @param id the product ID
+     * @return an Optional containing the category key if the product exists, empty otherwise
+     */
+    @Query("SELECT COALESCE(p.category, '') FROM Product p WHERE p.id = :id")
+    Optional<String> findFacetCategoryById(@Param("id") UUID id);
+
+    /**
+     * Find a product by ID, projected into its response DTO.
+     * No entity is instantiated or tracked by the persistence context.
+     *
+     * @param id the product ID
+     * @return an Optional containing the product DTO if found, empty otherwise
+     */
+    @Query(RESPONSE_DTO_PROJECTION + " WHERE p.id = :id")
+    Optional<ProductResponseDto> findDtoById(@Param("id") UUID id);
+
+    /**
+     * Find the stock availability of a product by ID.
+     *
+     * @param id the product ID
+     * @return an Optional containing the availability if the product exists, empty otherwise
+     */
+    @Query("SELECT new io.github.leupesquisa.ecommerce.product.application.dto.ProductAvailabilityDto("
+            + "p.id, p.stock, p.reservedStock, p.stock - p.reservedStock) FROM Product p WHERE p.id = :id")
+    Optional<ProductAvailabilityDto> findAvailabilityById(@Param("id") UUID id);
+
+    /**
+     * Find the products with the given IDs, projected into their response DTOs.
+     *
+     * @param ids the product IDs
+     * @return the product DTOs found, in no particular order
+     */
+    @Query(RESPONSE_DTO_PROJECTION + " WHERE p.id IN :ids")
+    List<ProductResponseDto> findDtosByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Find a page of products, projected into response DTOs.
+     *
+     * @param pageable the pagination information
+     * @return a page of product DTOs
+     */
+    @Query(value = RESPONSE_DTO_PROJECTION, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductResponseDto> findAllDtos(Pageable pageable);
+
+    /**
+     * Find a slice of products, projected into response DTOs.
+     * Unlike findAllDtos, no count query is executed; one extra row is fetched
+     * to tell whether a next slice exists.
+     *
+     * @param pageable the pagination information
+     * @return a slice of product DTOs
+     */
+    @Query(RESPONSE_DTO_PROJECTION)
+    Slice<ProductResponseDto> findDtoSlice(Pageable pageable);
+
+    /**
+     * Search products by name, description and SKU.
+     * Matches against the generated search_vector column through its GIN index and
+     * orders results by relevance. The pageable must be unsorted.
+     *
+     * @param q the search text, in web search syntax
+     * @param pageable the pagination information
+     * @return a page of matching products, most relevant first
+     */
+    @Query(value = "SELECT p.id, p.sku, p.name, p.description, p.price, p.stock, p.category, p.image_url, "
+            + "p.created_at, p.updated_at, p.version, p.reserved_stock FROM ecommerce.products p "
+            + "WHERE p.search_vector @@ " + SEARCH_QUERY + " "
+            + "ORDER BY ts_rank(p.search_vector, " + SEARCH_QUERY + ") DESC, p.id",
+            countQuery = "SELECT COUNT(*) FROM ecommerce.products p WHERE p.search_vector @@ " + SEARCH_QUERY,
+            nativeQuery = true)
+    Page<Product> search(@Param("q") String q, Pageable pageable);
+
+    /**
+     * Find products using keyset pagination.
+     * Seeks past the given position on the (sort key, id) tuple instead of skipping rows,
+     * so the cost of a page does not depend on how deep it is.
+     *
+     * @param position the position after which to start
+     * @param sort the sort, which must end with the id tie-breaker
+     * @param limit the maximum number of products to return
+     * @return a window of products with the position of each element
+     */
+    Window<Product> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Estimate the number of products from the planner statistics.
+     * Returns a negative value or zero when the table has not been analyzed yet.
+     *
+     * @return the estimated number of products
+     */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = CAST('ecommerce.products' AS regclass)",
+            nativeQuery = true)
+    long estimateCount();
 }
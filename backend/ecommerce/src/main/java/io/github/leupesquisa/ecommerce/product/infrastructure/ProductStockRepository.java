@@ -0,0 +1,192 @@
+package io.github.leupesquisa.ecommerce.product.infrastructure;
+
+import io.github.leupesquisa.ecommerce.product.domain.StockLevel;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevelChange;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC repository for stock updates.
+ * Each update is a single conditional statement that returns the old and new stock, so concurrent
+ * changes cannot overwrite each other and no read is needed before or after the write.
+ * Decreases only take stock that is not reserved by carts.
+ * Updates bump the optimistic lock version, so entity-based writers racing with them fail
+ * instead of overwriting the new stock. Updates bypass the persistence context; callers must
+ * not rely on Product entities loaded earlier in the same transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductStockRepository {
+
+    static final String SET_SQL = "WITH old AS ("
+            + "SELECT id, stock, reserved_stock FROM ecommerce.products WHERE id = ? FOR UPDATE) "
+            + "UPDATE ecommerce.products p SET stock = ?, updated_at = ?, version = p.version + 1 "
+            + "FROM old WHERE p.id = old.id AND old.reserved_stock <= ? "
+            + "RETURNING p.id, p.sku, p.name, old.stock AS old_stock, p.stock AS new_stock";
+
+    static final String APPLY_DELTAS_SQL = "UPDATE ecommerce.products p "
+            + "SET stock = p.stock + d.delta, updated_at = ?, version = p.version + 1 "
+            + "FROM unnest(?, ?) AS d(id, delta) WHERE p.id = d.id AND p.stock - p.reserved_stock + d.delta >= 0 "
+            + "RETURNING p.id, p.sku, p.name, p.stock - d.delta AS old_stock, p.stock AS new_stock";
+
+    static final String LOCK_LEVELS_SQL = "SELECT id, stock, reserved_stock "
+            + "FROM ecommerce.products WHERE id = ANY(?) ORDER BY id FOR UPDATE";
+
+    static final String RESERVE_SQL = "UPDATE ecommerce.products "
+            + "SET reserved_stock = reserved_stock + ? "
+            + "WHERE id = ? AND stock - reserved_stock >= ?";
+
+    static final String RELEASE_RESERVED_SQL = "UPDATE ecommerce.products p "
+            + "SET reserved_stock = p.reserved_stock - d.quantity "
+            + "FROM unnest(?, ?) AS d(id, quantity) WHERE p.id = d.id";
+
+    static final String COMMIT_RESERVED_SQL = "UPDATE ecommerce.products p "
+            + "SET stock = p.stock - d.quantity, reserved_stock = p.reserved_stock - d.quantity, "
+            + "updated_at = ?, version = p.version + 1 "
+            + "FROM unnest(?, ?) AS d(id, quantity) WHERE p.id = d.id AND p.reserved_stock >= d.quantity "
+            + "RETURNING p.id, p.sku, p.name, p.stock + d.quantity AS old_stock, p.stock AS new_stock";
+
+    private static final RowMapper<StockLevelChange> STOCK_LEVEL_CHANGE_MAPPER = (resultSet, rowNum) ->
+            new StockLevelChange(
+                    resultSet.getObject("id", UUID.class),
+                    resultSet.getString("sku"),
+                    resultSet.getString("name"),
+                    resultSet.getInt("old_stock"),
+                    resultSet.getInt("new_stock"));
+
+    private static final RowMapper<StockLevel> STOCK_LEVEL_MAPPER = (resultSet, rowNum) ->
+            new StockLevel(
+                    resultSet.getObject("id", UUID.class),
+                    resultSet.getInt("stock"),
+                    resultSet.getInt("reserved_stock"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Set the stock of a product to an absolute value.
+     * The previous value is read under a row lock in the same statement.
+     * The stock is left unchanged if the new value is below the stock reserved by carts.
+     *
+     * @param productId the product ID
+     * @param newStock the new stock value
+     * @return the stock change, or empty if the product does not exist or reserves more than the new value
+     */
+    public Optional<StockLevelChange> setStock(UUID productId, int newStock) {
+        return jdbcTemplate.query(SET_SQL, STOCK_LEVEL_CHANGE_MAPPER,
+                productId, newStock, LocalDateTime.now(), newStock).stream().findFirst();
+    }
+
+    /**
+     * Add a delta to the stock of several products in one statement.
+     * Products whose stock would drop below their reserved stock are left unchanged.
+     *
+     * @param deltas the stock delta per product ID
+     * @return the stock changes of the products that exist and were changed, in no particular order
+     */
+    public List<StockLevelChange> applyStockDeltas(Map<UUID, Integer> deltas) {
+        if (deltas.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = deltas.keySet().toArray(UUID[]::new);
+        Integer[] values = Arrays.stream(ids).map(deltas::get).toArray(Integer[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(APPLY_DELTAS_SQL);
+            statement.setObject(1, now);
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            statement.setArray(3, connection.createArrayOf("integer", values));
+            return statement;
+        }, STOCK_LEVEL_CHANGE_MAPPER);
+    }
+
+    /**
+     * Lock the rows of several products and read their current and reserved stock.
+     * Rows are locked in product ID order, so concurrent callers locking overlapping sets
+     * wait for each other instead of deadlocking. Must run inside a transaction.
+     *
+     * @param productIds the product IDs
+     * @return the stock levels of the products that exist, ordered by product ID
+     */
+    public List<StockLevel> lockStockLevels(Collection<UUID> productIds) {
+        if (productIds.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = productIds.toArray(UUID[]::new);
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(LOCK_LEVELS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            return statement;
+        }, STOCK_LEVEL_MAPPER);
+    }
+
+    /**
+     * Reserve stock of a product if enough unreserved stock is available.
+     * Only the reserved count changes; the stock itself is taken when the reservation is committed.
+     *
+     * @param productId the product ID
+     * @param quantity the quantity to reserve
+     * @return true if the stock was reserved, false if the product does not exist or has less unreserved
+     * stock than the quantity
+     */
+    public boolean reserveStock(UUID productId, int quantity) {
+        return jdbcTemplate.update(RESERVE_SQL, quantity, productId, quantity) == 1;
+    }
+
+    /**
+     * Release reserved stock of several products in one statement.
+     *
+     * @param quantities the quantity to release per product ID
+     */
+    public void releaseReservedStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        UUID[] ids = quantities.keySet().toArray(UUID[]::new);
+        Integer[] values = Arrays.stream(ids).map(quantities::get).toArray(Integer[]::new);
+
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RELEASE_RESERVED_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", ids));
+            statement.setArray(2, connection.createArrayOf("integer", values));
+            return statement;
+        });
+    }
+
+    /**
+     * Turn reserved stock of several products into sold stock in one statement, subtracting the
+     * quantities from both the stock and the reserved count. Products with less reserved stock than the
+     * quantity are left unchanged, so stock held by other carts is never sold.
+     *
+     * @param quantities the reserved quantity to commit per product ID
+     * @return the stock changes of the products that exist and were changed, in no particular order
+     */
+    public List<StockLevelChange> commitReservedStock(Map<UUID, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        UUID[] ids = quantities.keySet().toArray(UUID[]::new);
+        Integer[] values = Arrays.stream(ids).map(quantities::get).toArray(Integer[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(COMMIT_RESERVED_SQL);
+            statement.setObject(1, now);
+            statement.setArray(2, connection.createArrayOf("uuid", ids));
+            statement.setArray(3, connection.createArrayOf("integer", values));
+            return statement;
+        }, STOCK_LEVEL_CHANGE_MAPPER);
+    }
+}
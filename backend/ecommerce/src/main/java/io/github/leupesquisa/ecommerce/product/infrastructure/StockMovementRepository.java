@@ -0,0 +1,146 @@
+package io.github.leupesquisa.ecommerce.product.infrastructure;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC repository for the stock movement ledger.
+ * The table is range-partitioned by month of occurrence. History queries always bound occurred_at on
+ * both sides, so only the partitions of the requested range are scanned, and page with a keyset on
+ * (occurred_at, id) instead of offsets.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockMovementRepository {
+
+    static final String PARTITION_PREFIX = "stock_movements_y";
+
+    static final String INSERT_SQL = "INSERT INTO ecommerce.stock_movements "
+            + "(product_id, delta, old_stock, new_stock, reason, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    static final String FIND_BY_PRODUCT_SQL = "SELECT id, product_id, delta, old_stock, new_stock, reason, occurred_at "
+            + "FROM ecommerce.stock_movements "
+            + "WHERE product_id = ? AND occurred_at >= ? AND occurred_at < ? ";
+
+    static final String FIND_FIRST_PAGE_SQL = FIND_BY_PRODUCT_SQL
+            + "ORDER BY occurred_at DESC, id DESC LIMIT ?";
+
+    static final String FIND_NEXT_PAGE_SQL = FIND_BY_PRODUCT_SQL
+            + "AND (occurred_at, id) < (?, ?) ORDER BY occurred_at DESC, id DESC LIMIT ?";
+
+    static final String FIND_PARTITIONS_SQL = "SELECT c.relname FROM pg_inherits i "
+            + "JOIN pg_class c ON c.oid = i.inhrelid "
+            + "JOIN pg_class p ON p.oid = i.inhparent "
+            + "JOIN pg_namespace n ON n.oid = p.relnamespace "
+            + "WHERE n.nspname = 'ecommerce' AND p.relname = 'stock_movements' AND c.relname LIKE '"
+            + PARTITION_PREFIX + "%' ORDER BY c.relname";
+
+    private static final int[] INSERT_TYPES = {
+            Types.OTHER, Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP
+    };
+
+    private static final RowMapper<StockMovement> STOCK_MOVEMENT_MAPPER = (resultSet, rowNum) ->
+            new StockMovement(
+                    resultSet.getLong("id"),
+                    resultSet.getObject("product_id", UUID.class),
+                    resultSet.getInt("delta"),
+                    resultSet.getInt("old_stock"),
+                    resultSet.getInt("new_stock"),
+                    StockChangeReason.valueOf(resultSet.getString("reason")),
+                    resultSet.getObject("occurred_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Append movements to the ledger in one JDBC batch.
+     *
+     * @param movements the movements to append
+     */
+    public void insertAll(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = movements.stream()
+                .map(movement -> new Object[]{
+                        movement.productId(), movement.delta(), movement.oldStock(), movement.newStock(),
+                        movement.reason().name(), movement.occurredAt()})
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, INSERT_TYPES);
+    }
+
+    /**
+     * Find the movements of a product in a time range, most recent first.
+     *
+     * @param productId the product ID
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param afterOccurredAt the occurrence of the last movement of the previous page, or null for the first page
+     * @param afterId the ID of the last movement of the previous page, or null for the first page
+     * @param limit the maximum number of movements
+     * @return the movements, ordered by occurrence and ID, descending
+     */
+    public List<StockMovement> findByProductId(UUID productId, LocalDateTime from, LocalDateTime to,
+                                               LocalDateTime afterOccurredAt, Long afterId, int limit) {
+        if (afterOccurredAt == null || afterId == null) {
+            return jdbcTemplate.query(FIND_FIRST_PAGE_SQL, STOCK_MOVEMENT_MAPPER, productId, from, to, limit);
+        }
+        return jdbcTemplate.query(FIND_NEXT_PAGE_SQL, STOCK_MOVEMENT_MAPPER,
+                productId, from, to, afterOccurredAt, afterId, limit);
+    }
+
+    /**
+     * Create the partition of a month if it does not exist yet.
+     * Fails if the default partition already holds movements of the month. To move them into their own
+     * partition, in a single transaction: detach {@code stock_movements_default}, create the month partition,
+     * insert the month's rows from the detached table into {@code stock_movements}, delete them from the
+     * detached table and attach it back as {@code DEFAULT}. Writers block on the detach until the commit.
+     *
+     * @param month the month
+     * @throws org.springframework.dao.DataAccessException if the partition cannot be created
+     */
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS ecommerce.%s PARTITION OF ecommerce.stock_movements "
+                        + "FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    /**
+     * Find the months that have a partition.
+     *
+     * @return the partitioned months, in ascending order
+     */
+    public List<YearMonth> findPartitionedMonths() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS_SQL, String.class).stream()
+                .map(StockMovementRepository::partitionMonth)
+                .toList();
+    }
+
+    /**
+     * Drop the partition of a month, together with its movements.
+     *
+     * @param month the month
+     */
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ecommerce." + partitionName(month));
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("%s%04dm%02d", PARTITION_PREFIX, month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth partitionMonth(String partitionName) {
+        String suffix = partitionName.substring(PARTITION_PREFIX.length());
+        return YearMonth.of(Integer.parseInt(suffix.substring(0, 4)), Integer.parseInt(suffix.substring(5, 7)));
+    }
+}
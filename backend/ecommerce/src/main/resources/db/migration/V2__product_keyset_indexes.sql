@@ -0,0 +1,4 @@
+-- Índices para paginação por cursor (keyset) sobre (chave de ordenação, id)
+CREATE INDEX idx_products_created_at_id ON ecommerce.products (created_at, id);
+CREATE INDEX idx_products_name_id ON ecommerce.products (name, id);
+CREATE INDEX idx_products_price_id ON ecommerce.products (price, id);
@@ -0,0 +1,11 @@
+-- Coluna tsvector gerada para busca textual sobre sku, nome e descrição
+ALTER TABLE ecommerce.products
+  ADD COLUMN search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple', coalesce(sku, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')
+  ) STORED;
+
+-- Índice GIN para consultas com @@
+CREATE INDEX idx_products_search_vector ON ecommerce.products USING GIN (search_vector);
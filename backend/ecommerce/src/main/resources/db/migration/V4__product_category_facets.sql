@@ -0,0 +1,13 @@
+-- Agregado de contagens por categoria, mantido incrementalmente pela aplicação
+-- (categoria vazia representa produtos sem categoria)
+CREATE TABLE ecommerce.product_category_facets (
+  category VARCHAR(50) PRIMARY KEY,
+  product_count BIGINT NOT NULL DEFAULT 0,
+  in_stock_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Carga inicial a partir dos produtos existentes
+INSERT INTO ecommerce.product_category_facets (category, product_count, in_stock_count)
+SELECT coalesce(category, ''), count(*), count(*) FILTER (WHERE stock > 0)
+FROM ecommerce.products
+GROUP BY coalesce(category, '');
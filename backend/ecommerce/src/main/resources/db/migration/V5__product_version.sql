@@ -0,0 +1,2 @@
+-- Versão para controle de concorrência otimista
+ALTER TABLE ecommerce.products ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
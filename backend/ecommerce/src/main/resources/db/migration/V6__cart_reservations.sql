@@ -0,0 +1,13 @@
+-- Unidades reservadas em carrinhos; disponível = stock - reserved_stock
+ALTER TABLE ecommerce.products ADD COLUMN reserved_stock INTEGER NOT NULL DEFAULT 0
+  CHECK (reserved_stock >= 0);
+
+-- Cada item de carrinho é uma reserva com prazo de expiração
+ALTER TABLE ecommerce.cart_items ADD COLUMN reserved_until TIMESTAMP NOT NULL DEFAULT now();
+
+-- Um carrinho por usuário e um item por produto em cada carrinho
+CREATE UNIQUE INDEX idx_carts_user_id ON ecommerce.carts (user_id);
+CREATE UNIQUE INDEX idx_cart_items_cart_product ON ecommerce.cart_items (cart_id, product_id);
+
+-- Varredura de expiração lê apenas as reservas vencidas, em ordem de vencimento
+CREATE INDEX idx_cart_items_reserved_until ON ecommerce.cart_items (reserved_until);
@@ -0,0 +1,10 @@
+-- Outbox de eventos de domínio, gravado na mesma transação da alteração que os gerou
+-- e drenado em lotes pelo relay (mensagens entregues são removidas)
+CREATE TABLE ecommerce.event_outbox (
+  id BIGSERIAL PRIMARY KEY,
+  event_type VARCHAR(255) NOT NULL,
+  payload JSONB NOT NULL,
+  created_at TIMESTAMP NOT NULL,
+  attempts INTEGER NOT NULL DEFAULT 0,
+  last_error TEXT
+);
@@ -0,0 +1,28 @@
+-- Histórico append-only das movimentações de estoque, particionado por mês de ocorrência
+-- (as partições mensais são criadas antecipadamente pela aplicação)
+CREATE TABLE ecommerce.stock_movements (
+  id BIGSERIAL,
+  product_id UUID NOT NULL,
+  delta INTEGER NOT NULL,
+  old_stock INTEGER NOT NULL,
+  new_stock INTEGER NOT NULL,
+  reason VARCHAR(20) NOT NULL,
+  occurred_at TIMESTAMP NOT NULL,
+  PRIMARY KEY (occurred_at, id)
+) PARTITION BY RANGE (occurred_at);
+
+-- Consulta do histórico por produto, da movimentação mais recente para a mais antiga
+CREATE INDEX idx_stock_movements_product_occurred ON ecommerce.stock_movements (product_id, occurred_at DESC, id DESC);
+
+-- Recebe movimentações fora das partições mensais existentes
+CREATE TABLE ecommerce.stock_movements_default PARTITION OF ecommerce.stock_movements DEFAULT;
+
+-- Partição do mês corrente, para que as primeiras gravações não caiam na partição padrão
+DO $$
+DECLARE
+  month_start DATE := date_trunc('month', now())::date;
+BEGIN
+  EXECUTE format('CREATE TABLE ecommerce.stock_movements_y%sm%s PARTITION OF ecommerce.stock_movements FOR VALUES FROM (%L) TO (%L)',
+                 to_char(month_start, 'YYYY'), to_char(month_start, 'MM'),
+                 month_start, (month_start + INTERVAL '1 month')::date);
+END $$;
@@ -0,0 +1,20 @@
+-- Refresh tokens rotativos: cada login inicia uma família, e cada uso substitui o token por um novo.
+-- O token é guardado apenas como hash; o id também é o jti dos access tokens emitidos com ele
+CREATE TABLE ecommerce.refresh_tokens (
+  id UUID PRIMARY KEY,
+  user_id UUID NOT NULL REFERENCES ecommerce.users(id) ON DELETE CASCADE,
+  family_id UUID NOT NULL,
+  token_hash VARCHAR(64) NOT NULL,
+  expires_at TIMESTAMP NOT NULL,
+  rotated_at TIMESTAMP,
+  revoked_at TIMESTAMP,
+  created_at TIMESTAMP NOT NULL,
+  updated_at TIMESTAMP
+);
+
+-- Revogação de uma família inteira (logout ou reuso de um token já substituído)
+CREATE INDEX idx_refresh_tokens_family_id ON ecommerce.refresh_tokens (family_id);
+
+-- Sincronização incremental das revogações e limpeza dos tokens vencidos
+CREATE INDEX idx_refresh_tokens_revoked_at ON ecommerce.refresh_tokens (revoked_at) WHERE revoked_at IS NOT NULL;
+CREATE INDEX idx_refresh_tokens_expires_at ON ecommerce.refresh_tokens (expires_at);
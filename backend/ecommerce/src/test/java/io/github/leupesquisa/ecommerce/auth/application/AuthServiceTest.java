@@ -0,0 +1,200 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.application.dto.AuthResponse;
+import io.github.leupesquisa.ecommerce.auth.application.dto.IssuedTokens;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserLoginDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserRegistrationDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserResponseDto;
+import io.github.leupesquisa.ecommerce.auth.application.mapper.UserMapper;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.github.leupesquisa.ecommerce.auth.domain.exception.InvalidCredentialsException;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import io.github.leupesquisa.ecommerce.core.exception.DuplicateResourceException;
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AuthService.
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    private static final String CLIENT_IP = "10.0.0.1";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthService authService;
+    private User user;
+    private UserLoginDto loginDto;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        authService = new AuthService(userRepository, userMapper, passwordHasher, refreshTokenService, loginThrottle,
+                transactionTemplate, meterRegistry);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.ROLE_USER);
+        loginDto = new UserLoginDto("user@example.com", "secret123");
+    }
+
+    @Test
+    void login_WithValidCredentials_ShouldLoadUserOnceAndIssueTokens() {
+        // Arrange
+        UserResponseDto userDto = new UserResponseDto(user.getId(), user.getEmail(), null, null, Role.ROLE_USER, null);
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret123", "hash")).thenReturn(true);
+        when(refreshTokenService.issue(user)).thenReturn(new IssuedTokens("access", "refresh", user));
+        when(userMapper.toResponseDto(user)).thenReturn(userDto);
+
+        // Act
+        AuthResponse response = authService.login(loginDto, CLIENT_IP);
+
+        // Assert
+        assertEquals("access", response.token());
+        assertEquals("refresh", response.refreshToken());
+        assertEquals(userDto, response.user());
+        verify(loginThrottle).acquire(CLIENT_IP, user.getEmail());
+        verify(userRepository, times(1)).findByEmail(user.getEmail());
+    }
+
+    @Test
+    void login_WithWrongPassword_ShouldRejectAndCount() {
+        // Arrange
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("secret123", "hash")).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> authService.login(loginDto, CLIENT_IP));
+        assertEquals(1.0, rejected("bad_credentials"));
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void login_WithUnknownEmail_ShouldStillHashAndReject() {
+        // Arrange
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.empty());
+        when(passwordHasher.matches("secret123", null)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(InvalidCredentialsException.class, () -> authService.login(loginDto, CLIENT_IP));
+        verify(passwordHasher).matches("secret123", null);
+        assertEquals(1.0, rejected("bad_credentials"));
+    }
+
+    @Test
+    void login_WhenThrottled_ShouldRejectBeforeLoadingUser() {
+        // Arrange
+        doThrow(new TooManyRequestsException("throttled")).when(loginThrottle).acquire(CLIENT_IP, user.getEmail());
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginDto, CLIENT_IP));
+        assertEquals(1.0, rejected("rate_limited"));
+        verifyNoInteractions(userRepository, passwordHasher);
+    }
+
+    @Test
+    void login_WhenHashingIsSaturated_ShouldRejectAndCount() {
+        // Arrange
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHasher.matches(anyString(), any())).thenThrow(new TooManyRequestsException("busy"));
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> authService.login(loginDto, CLIENT_IP));
+        assertEquals(1.0, rejected("busy"));
+    }
+
+    @Test
+    void register_WithNewEmail_ShouldHashBeforeOpeningTransaction() {
+        // Arrange
+        UserRegistrationDto registrationDto =
+                new UserRegistrationDto("new@example.com", "secret123", "New", "User");
+        User newUser = new User();
+        when(userMapper.toEntity(registrationDto)).thenReturn(newUser);
+        when(passwordHasher.encode("secret123")).thenReturn("hash");
+        when(userRepository.existsByEmail("new@example.com")).thenReturn(false);
+        when(userRepository.save(newUser)).thenReturn(newUser);
+        when(refreshTokenService.issue(newUser)).thenReturn(new IssuedTokens("access", "refresh", newUser));
+
+        // Act
+        AuthResponse response = authService.register(registrationDto, CLIENT_IP);
+
+        // Assert
+        assertEquals("access", response.token());
+        assertEquals("hash", newUser.getPassword());
+        assertEquals(Role.ROLE_USER, newUser.getRole());
+        InOrder inOrder = inOrder(passwordHasher, transactionTemplate, userRepository);
+        inOrder.verify(passwordHasher).encode("secret123");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(userRepository).existsByEmail("new@example.com");
+    }
+
+    @Test
+    void register_WithExistingEmail_ShouldRejectWithoutSaving() {
+        // Arrange
+        UserRegistrationDto registrationDto =
+                new UserRegistrationDto("user@example.com", "secret123", "New", "User");
+        when(userMapper.toEntity(registrationDto)).thenReturn(new User());
+        when(userRepository.existsByEmail("user@example.com")).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> authService.register(registrationDto, CLIENT_IP));
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void register_WhenThrottled_ShouldRejectBeforeHashing() {
+        // Arrange
+        UserRegistrationDto registrationDto =
+                new UserRegistrationDto("new@example.com", "secret123", "New", "User");
+        doThrow(new TooManyRequestsException("throttled")).when(loginThrottle).acquireRegistration(CLIENT_IP);
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> authService.register(registrationDto, CLIENT_IP));
+        verifyNoInteractions(userRepository, passwordHasher, refreshTokenService);
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("auth.login.rejected").tag("reason", reason).counter().count();
+    }
+}
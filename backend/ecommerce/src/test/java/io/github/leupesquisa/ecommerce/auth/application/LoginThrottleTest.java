@@ -0,0 +1,52 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LoginThrottle.
+ */
+class LoginThrottleTest {
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(3, 2, Duration.ofMinutes(1), 1000);
+
+    @Test
+    void acquire_ShouldLimitAttemptsPerAccountAcrossClients() {
+        // Arrange
+        loginThrottle.acquire("10.0.0.1", "user@example.com");
+        loginThrottle.acquire("10.0.0.2", "USER@example.com");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("10.0.0.3", "user@example.com"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("10.0.0.3", "other@example.com"));
+    }
+
+    @Test
+    void acquire_ShouldLimitAttemptsPerClientAcrossAccounts() {
+        // Arrange
+        loginThrottle.acquire("10.0.0.1", "a@example.com");
+        loginThrottle.acquire("10.0.0.1", "b@example.com");
+        loginThrottle.acquire("10.0.0.1", "c@example.com");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("10.0.0.1", "d@example.com"));
+        assertDoesNotThrow(() -> loginThrottle.acquire("10.0.0.2", "d@example.com"));
+    }
+
+    @Test
+    void acquireRegistration_ShouldShareTheClientLimitWithLogins() {
+        // Arrange
+        loginThrottle.acquire("10.0.0.1", "a@example.com");
+        loginThrottle.acquireRegistration("10.0.0.1");
+        loginThrottle.acquireRegistration("10.0.0.1");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquireRegistration("10.0.0.1"));
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.acquire("10.0.0.1", "b@example.com"));
+        assertDoesNotThrow(() -> loginThrottle.acquireRegistration("10.0.0.2"));
+    }
+}
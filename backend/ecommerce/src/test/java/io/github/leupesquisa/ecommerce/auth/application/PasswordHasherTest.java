@@ -0,0 +1,72 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordHasher.
+ */
+class PasswordHasherTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private ThreadPoolTaskExecutor executor;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        passwordHasher = new PasswordHasher(passwordEncoder, executor, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void matches_ShouldVerifyPasswordsOnExecutor() {
+        // Arrange
+        String hash = passwordHasher.encode("secret123");
+
+        // Act & Assert
+        assertTrue(passwordHasher.matches("secret123", hash));
+        assertFalse(passwordHasher.matches("wrong", hash));
+        assertFalse(passwordHasher.matches("secret123", null));
+    }
+
+    @Test
+    void matches_WhenQueueIsFull_ShouldRefuse() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        executor.execute(() -> awaitQuietly(release));
+
+        try {
+            // Act & Assert
+            assertThrows(TooManyRequestsException.class, () -> passwordHasher.matches("secret123", "hash"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
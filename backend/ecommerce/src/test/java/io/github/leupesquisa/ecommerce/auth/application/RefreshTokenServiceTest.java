@@ -0,0 +1,167 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.application.dto.IssuedTokens;
+import io.github.leupesquisa.ecommerce.auth.domain.RefreshToken;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.github.leupesquisa.ecommerce.auth.domain.exception.InvalidRefreshTokenException;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.RefreshTokenRepository;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import io.github.leupesquisa.ecommerce.core.config.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RefreshTokenService.
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    private RefreshTokenService refreshTokenService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(
+                refreshTokenRepository, userRepository, jwtService, revokedTokenRegistry, Duration.ofDays(14));
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(Role.ROLE_USER);
+    }
+
+    @Test
+    void issue_ShouldStoreOnlyHashAndUseTokenIdAsJti() {
+        // Arrange
+        stubSave();
+        when(jwtService.generateToken(eq(user), any(UUID.class))).thenReturn("access");
+
+        // Act
+        IssuedTokens tokens = refreshTokenService.issue(user);
+
+        // Assert
+        RefreshToken saved = firstSaved();
+        assertEquals("access", tokens.accessToken());
+        assertTrue(tokens.refreshToken().startsWith(saved.getId() + "."));
+        assertFalse(tokens.refreshToken().contains(saved.getTokenHash()));
+        assertEquals(64, saved.getTokenHash().length());
+        assertEquals(user.getId(), saved.getUserId());
+        verify(jwtService).generateToken(user, saved.getId());
+    }
+
+    @Test
+    void rotate_WithCurrentToken_ShouldRotateWithinFamily() {
+        // Arrange
+        stubSave();
+        when(jwtService.generateToken(eq(user), any(UUID.class))).thenReturn("access");
+        String refreshToken = refreshTokenService.issue(user).refreshToken();
+        RefreshToken current = copy(firstSaved());
+        when(refreshTokenRepository.findByIdForUpdate(current.getId())).thenReturn(Optional.of(current));
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        // Act
+        IssuedTokens rotated = refreshTokenService.rotate(refreshToken);
+
+        // Assert
+        assertNotNull(current.getRotatedAt());
+        assertNotEquals(refreshToken, rotated.refreshToken());
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, times(2)).save(captor.capture());
+        assertEquals(current.getFamilyId(), captor.getAllValues().get(1).getFamilyId());
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_WithRotatedToken_ShouldRevokeFamily() {
+        // Arrange
+        stubSave();
+        when(jwtService.generateToken(eq(user), any(UUID.class))).thenReturn("access");
+        String refreshToken = refreshTokenService.issue(user).refreshToken();
+        RefreshToken reused = copy(firstSaved());
+        reused.setRotatedAt(LocalDateTime.now().minusMinutes(1));
+        List<UUID> family = List.of(reused.getId(), UUID.randomUUID());
+        when(refreshTokenRepository.findByIdForUpdate(reused.getId())).thenReturn(Optional.of(reused));
+        when(refreshTokenRepository.findActiveIdsByFamilyId(reused.getFamilyId())).thenReturn(family);
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(refreshToken));
+        verify(refreshTokenRepository).revokeFamily(eq(reused.getFamilyId()), any(LocalDateTime.class));
+        verify(revokedTokenRegistry).revoke(eq(family), any(LocalDateTime.class));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void rotate_WithWrongSecret_ShouldRejectWithoutRevoking() {
+        // Arrange
+        RefreshToken stored = new RefreshToken();
+        stored.setId(UUID.randomUUID());
+        stored.setFamilyId(UUID.randomUUID());
+        stored.setTokenHash("0".repeat(64));
+        stored.setExpiresAt(LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByIdForUpdate(stored.getId())).thenReturn(Optional.of(stored));
+
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate(stored.getId() + ".guess"));
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void rotate_WithMalformedToken_ShouldReject() {
+        // Act & Assert
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("not-a-token"));
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.rotate("not-a-uuid.secret"));
+        verifyNoInteractions(refreshTokenRepository);
+    }
+
+    private void stubSave() {
+        when(refreshTokenRepository.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+            RefreshToken token = invocation.getArgument(0);
+            token.setId(UUID.randomUUID());
+            return token;
+        });
+    }
+
+    private RefreshToken firstSaved() {
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository, atLeastOnce()).save(captor.capture());
+        return captor.getAllValues().get(0);
+    }
+
+    private static RefreshToken copy(RefreshToken token) {
+        RefreshToken copy = new RefreshToken();
+        copy.setId(token.getId());
+        copy.setUserId(token.getUserId());
+        copy.setFamilyId(token.getFamilyId());
+        copy.setTokenHash(token.getTokenHash());
+        copy.setExpiresAt(token.getExpiresAt());
+        return copy;
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import io.github.leupesquisa.ecommerce.auth.domain.RevokedToken;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RevokedTokenRegistry.
+ */
+@ExtendWith(MockitoExtension.class)
+class RevokedTokenRegistryTest {
+
+    private static final long ACCESS_TOKEN_TTL = Duration.ofMinutes(15).toMillis();
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RevokedTokenRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new RevokedTokenRegistry(refreshTokenRepository, meterRegistry, ACCESS_TOKEN_TTL);
+    }
+
+    @Test
+    void revoke_ShouldApplyImmediately() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+
+        // Act
+        registry.revoke(List.of(id), LocalDateTime.now());
+
+        // Assert
+        assertTrue(registry.isRevoked(id.toString()));
+        assertFalse(registry.isRevoked(UUID.randomUUID().toString()));
+        assertFalse(registry.isRevoked(null));
+    }
+
+    @Test
+    void sync_ShouldLoadRevocationsIncrementally() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(refreshTokenRepository.findRevokedSince(any()))
+                .thenReturn(List.of(new RevokedToken(first, LocalDateTime.now())))
+                .thenReturn(List.of(new RevokedToken(second, LocalDateTime.now())));
+
+        // Act
+        registry.sync();
+        registry.sync();
+
+        // Assert
+        assertTrue(registry.isRevoked(first.toString()));
+        assertTrue(registry.isRevoked(second.toString()));
+        assertEquals(2.0, meterRegistry.get("auth.tokens.revoked").gauge().value());
+
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(refreshTokenRepository, times(2)).findRevokedSince(since.capture());
+        LocalDateTime initial = since.getAllValues().get(0);
+        LocalDateTime incremental = since.getAllValues().get(1);
+        assertTrue(initial.isBefore(LocalDateTime.now().minusMinutes(14)));
+        assertTrue(incremental.isAfter(LocalDateTime.now().minus(RevokedTokenRegistry.SYNC_OVERLAP).minusSeconds(5)));
+    }
+
+    @Test
+    void sync_ShouldDropTokensWhoseAccessTokensExpired() {
+        // Arrange
+        UUID expired = UUID.randomUUID();
+        registry.revoke(List.of(expired), LocalDateTime.now().minusMinutes(16));
+        when(refreshTokenRepository.findRevokedSince(any())).thenReturn(List.of());
+
+        // Act
+        registry.sync();
+
+        // Assert
+        assertFalse(registry.isRevoked(expired.toString()));
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.leupesquisa.ecommerce.auth.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningReportDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningResultDto;
+import io.github.leupesquisa.ecommerce.auth.application.dto.UserProvisioningResultDto.Status;
+import io.github.leupesquisa.ecommerce.auth.infrastructure.UserRepository;
+import io.github.leupesquisa.ecommerce.core.exception.TooManyRequestsException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for UserProvisioner.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserProvisionerTest {
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final ForkJoinPool hashingPool = new ForkJoinPool(2);
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserProvisioner userProvisioner;
+
+    @BeforeEach
+    void setUp() {
+        userProvisioner = new UserProvisioner(userRepository, jdbcTemplate, transactionManager, passwordEncoder,
+                hashingPool, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), 2, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashingPool.shutdown();
+    }
+
+    @Test
+    void provisionUsers_ShouldInsertNewUsersInChunksWithHashedPasswords() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        String body = """
+                {"email":"a@example.com","password":"secret1","firstName":"Ann","lastName":"Lee"}
+                {"email":"b@example.com","password":"secret2","firstName":"Bob","lastName":"Ray"}
+
+                {"email":"c@example.com","password":"secret3","firstName":"Cid","lastName":"Moe"}
+                """;
+
+        // Act
+        UserProvisioningReportDto report = userProvisioner.provisionUsers(stream(body));
+
+        // Assert
+        assertEquals(3, report.received());
+        assertEquals(3, report.created());
+        assertEquals(List.of(1L, 2L, 4L), report.results().stream().map(UserProvisioningResultDto::line).toList());
+        assertTrue(report.results().stream().allMatch(result -> result.status() == Status.CREATED && result.id() != null));
+        verify(userRepository, times(2)).findExistingEmails(anyCollection());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(UserProvisioner.INSERT_SQL), batches.capture(), any(int[].class));
+        Object[] first = batches.getAllValues().get(0).get(0);
+        assertEquals("a@example.com", first[1]);
+        assertTrue(passwordEncoder.matches("secret1", (String) first[2]));
+        assertEquals("ROLE_USER", first[5]);
+    }
+
+    @Test
+    void provisionUsers_ShouldReportInvalidAndDuplicateRows() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of("taken@example.com"));
+        String body = """
+                {"email":"a@example.com","password":"secret1","firstName":"Ann","lastName":"Lee"}
+                {"email":"a@example.com","password":"secret1","firstName":"Ann","lastName":"Lee"}
+                {"email":"not-an-email","password":"secret1","firstName":"Ann","lastName":"Lee"}
+                {"email":"taken@example.com","password":"secret1","firstName":"Tom","lastName":"Kay"}
+                {broken
+                """;
+
+        // Act
+        UserProvisioningReportDto report = userProvisioner.provisionUsers(stream(body));
+
+        // Assert
+        assertEquals(5, report.received());
+        assertEquals(1, report.created());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.INVALID, Status.DUPLICATE, Status.INVALID),
+                report.results().stream().map(UserProvisioningResultDto::status).toList());
+        assertTrue(report.results().get(2).message().contains("email"));
+        assertTrue(report.results().get(4).message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void provisionUsers_WhenChunkIsRejected_ShouldRetryRowByRow() {
+        // Arrange
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        when(jdbcTemplate.batchUpdate(eq(UserProvisioner.INSERT_SQL), anyList(), any(int[].class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"))
+                .thenReturn(new int[]{1})
+                .thenThrow(new DuplicateKeyException("duplicate key value violates unique constraint"));
+        String body = """
+                {"email":"a@example.com","password":"secret1","firstName":"Ann","lastName":"Lee"}
+                {"email":"b@example.com","password":"secret2","firstName":"Bob","lastName":"Ray"}
+                """;
+
+        // Act
+        UserProvisioningReportDto report = userProvisioner.provisionUsers(stream(body));
+
+        // Assert
+        assertEquals(1, report.created());
+        assertEquals(Status.CREATED, report.results().get(0).status());
+        assertEquals(Status.DUPLICATE, report.results().get(1).status());
+        assertEquals("User already exists with email: 'b@example.com'", report.results().get(1).message());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void provisionUsers_WhileAnotherRequestRuns_ShouldRefuse() throws Exception {
+        // Arrange
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream blocking = new InputStream() {
+            @Override
+            public int read() {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return -1;
+            }
+        };
+        AtomicReference<UserProvisioningReportDto> first = new AtomicReference<>();
+        Thread running = new Thread(() -> first.set(userProvisioner.provisionUsers(blocking)));
+        running.start();
+        reading.await();
+
+        try {
+            // Act & Assert
+            assertThrows(TooManyRequestsException.class, () -> userProvisioner.provisionUsers(stream("")));
+        } finally {
+            release.countDown();
+            running.join();
+        }
+        assertEquals(0, first.get().received());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
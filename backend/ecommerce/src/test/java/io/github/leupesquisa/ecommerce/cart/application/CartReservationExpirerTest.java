@@ -0,0 +1,77 @@
+package io.github.leupesquisa.ecommerce.cart.application;
+
+import io.github.leupesquisa.ecommerce.cart.domain.ReservationHold;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartReservationRepository;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CartReservationExpirer.
+ */
+@ExtendWith(MockitoExtension.class)
+class CartReservationExpirerTest {
+
+    private final UUID productId = UUID.randomUUID();
+    private final UUID otherId = UUID.randomUUID();
+
+    @Mock
+    private CartReservationRepository cartReservationRepository;
+
+    @Mock
+    private ProductStockManager productStockManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CartReservationExpirer expirer;
+
+    @BeforeEach
+    void setUp() {
+        expirer = new CartReservationExpirer(cartReservationRepository, productStockManager, transactionTemplate, 2);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void expireReservations_ShouldReleaseSummedQuantitiesPerBatchUntilBatchIsNotFull() {
+        // Arrange
+        when(cartReservationRepository.deleteExpired(any(), eq(2)))
+                .thenReturn(List.of(new ReservationHold(productId, 2), new ReservationHold(productId, 3)))
+                .thenReturn(List.of(new ReservationHold(otherId, 1)));
+
+        // Act
+        expirer.expireReservations();
+
+        // Assert
+        verify(cartReservationRepository, times(2)).deleteExpired(any(), eq(2));
+        verify(productStockManager).releaseReservedStock(Map.of(productId, 5));
+        verify(productStockManager).releaseReservedStock(Map.of(otherId, 1));
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void expireReservations_WithNothingExpired_ShouldRunOneBatch() {
+        // Arrange
+        when(cartReservationRepository.deleteExpired(any(), eq(2))).thenReturn(List.of());
+
+        // Act
+        expirer.expireReservations();
+
+        // Assert
+        verify(cartReservationRepository, times(1)).deleteExpired(any(), eq(2));
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.leupesquisa.ecommerce.cart.application;
+
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartDto;
+import io.github.leupesquisa.ecommerce.cart.application.dto.CartItemDto;
+import io.github.leupesquisa.ecommerce.cart.application.mapper.CartMapper;
+import io.github.leupesquisa.ecommerce.cart.domain.Cart;
+import io.github.leupesquisa.ecommerce.cart.domain.CartItem;
+import io.github.leupesquisa.ecommerce.cart.domain.exception.CartItemNotFoundException;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartItemRepository;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartRepository;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CartService.
+ */
+@ExtendWith(MockitoExtension.class)
+class CartServiceTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID productId = UUID.randomUUID();
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Mock
+    private ProductStockManager productStockManager;
+
+    @Mock
+    private CartMapper cartMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private CartService cartService;
+    private Cart cart;
+
+    @BeforeEach
+    void setUp() {
+        Retry stockUpdateRetry = Retry.of("stockUpdate", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofMillis(1))
+                .retryExceptions(PessimisticLockingFailureException.class)
+                .build());
+        cartService = new CartService(cartRepository, cartItemRepository, productStockManager, cartMapper,
+                stockUpdateRetry, transactionTemplate, Duration.ofMinutes(15));
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        cart = new Cart();
+        cart.setId(UUID.randomUUID());
+        cart.setUserId(userId);
+        lenient().when(cartMapper.toItemDto(any(CartItem.class))).thenAnswer(invocation -> {
+            CartItem item = invocation.getArgument(0);
+            return new CartItemDto(item.getProductId(), item.getQuantity(), item.getReservedUntil());
+        });
+    }
+
+    @Test
+    void setItemQuantity_WithNewCartAndItem_ShouldCreateCartAndReserveStock() {
+        // Arrange
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty(), Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)).thenReturn(Optional.empty());
+
+        // Act
+        cartService.setItemQuantity(userId, productId, 3);
+
+        // Assert
+        verify(cartRepository).insertIfAbsent(any(UUID.class), eq(userId), any(LocalDateTime.class));
+        verify(productStockManager).reserveStock(productId, 3);
+        ArgumentCaptor<CartItem> captor = ArgumentCaptor.forClass(CartItem.class);
+        verify(cartItemRepository).save(captor.capture());
+        assertEquals(3, captor.getValue().getQuantity());
+        assertEquals(cart.getId(), captor.getValue().getCartId());
+        assertTrue(captor.getValue().getReservedUntil().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+
+    @Test
+    void setItemQuantity_WithLowerQuantity_ShouldReleaseDifference() {
+        // Arrange
+        CartItem item = item(5);
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)).thenReturn(Optional.of(item));
+
+        // Act
+        cartService.setItemQuantity(userId, productId, 2);
+
+        // Assert
+        verify(productStockManager).releaseReservedStock(Map.of(productId, 3));
+        verify(productStockManager, never()).reserveStock(any(), anyInt());
+        assertEquals(2, item.getQuantity());
+    }
+
+    @Test
+    void setItemQuantity_WithInsufficientStock_ShouldNotSaveItem() {
+        // Arrange
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)).thenReturn(Optional.of(item(1)));
+        doThrow(new InvalidRequestException("Not enough stock available"))
+                .when(productStockManager).reserveStock(productId, 9);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> cartService.setItemQuantity(userId, productId, 10));
+        verify(cartItemRepository, never()).save(any());
+    }
+
+    @Test
+    void removeItem_ShouldReleaseReservationAndDeleteItem() {
+        // Arrange
+        CartItem item = item(4);
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findByCartIdAndProductId(cart.getId(), productId)).thenReturn(Optional.of(item));
+
+        // Act
+        cartService.removeItem(userId, productId);
+
+        // Assert
+        verify(productStockManager).releaseReservedStock(Map.of(productId, 4));
+        verify(cartItemRepository).delete(item);
+    }
+
+    @Test
+    void removeItem_WithoutCart_ShouldThrowNotFound() {
+        // Arrange
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(CartItemNotFoundException.class, () -> cartService.removeItem(userId, productId));
+        verifyNoInteractions(productStockManager);
+    }
+
+    @Test
+    void checkout_ShouldCommitReservedStockAndEmptyCart() {
+        // Arrange
+        List<CartItem> items = List.of(item(2));
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findAllByCartIdForUpdate(cart.getId())).thenReturn(items);
+
+        // Act
+        CartDto result = cartService.checkout(userId);
+
+        // Assert
+        assertEquals(1, result.items().size());
+        verify(productStockManager).commitReservedStock(Map.of(productId, 2));
+        verify(cartItemRepository).deleteAllInBatch(items);
+    }
+
+    @Test
+    void checkout_WhenLockingRaceIsLost_ShouldRetryInNewTransaction() {
+        // Arrange
+        List<CartItem> items = List.of(item(2));
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findAllByCartIdForUpdate(cart.getId())).thenReturn(items);
+        when(productStockManager.commitReservedStock(Map.of(productId, 2)))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"))
+                .thenReturn(List.of());
+
+        // Act
+        cartService.checkout(userId);
+
+        // Assert
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(cartItemRepository).deleteAllInBatch(items);
+    }
+
+    @Test
+    void checkout_WithEmptyCart_ShouldThrowException() {
+        // Arrange
+        when(cartRepository.findByUserId(userId)).thenReturn(Optional.of(cart));
+        when(cartItemRepository.findAllByCartIdForUpdate(cart.getId())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> cartService.checkout(userId));
+        verify(productStockManager, never()).commitReservedStock(anyMap());
+    }
+
+    private CartItem item(int quantity) {
+        CartItem item = new CartItem();
+        item.setId(UUID.randomUUID());
+        item.setCartId(cart.getId());
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setReservedUntil(LocalDateTime.now().plusMinutes(5));
+        return item;
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.github.leupesquisa.ecommerce.auth.application.RevokedTokenRegistry;
+import io.github.leupesquisa.ecommerce.auth.application.UserAccessCache;
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter.
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private final AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "user@example.com", Role.ROLE_USER);
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Mock
+    private ObjectProvider<UserAccessCache> userAccessCacheProvider;
+
+    @Mock
+    private UserAccessCache userAccessCache;
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_WithValidToken_ShouldAuthenticateFromClaims() throws Exception {
+        // Arrange
+        VerifiedToken verified = verifiedToken();
+        when(jwtService.verify("token")).thenReturn(Optional.of(verified));
+        when(jwtService.toAuthenticatedUser(verified)).thenReturn(Optional.of(user));
+
+        // Act
+        filter(request("token"));
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(user, authentication.getPrincipal());
+        assertEquals("user@example.com", authentication.getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void doFilter_WithInvalidToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Arrange
+        when(jwtService.verify("token")).thenReturn(Optional.empty());
+
+        // Act
+        filter(request("token"));
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_WithUserAccessCache_ShouldUseCurrentRole() throws Exception {
+        // Arrange
+        AuthenticatedUser promoted = new AuthenticatedUser(user.id(), user.email(), Role.ROLE_ADMIN);
+        VerifiedToken verified = verifiedToken();
+        when(jwtService.verify("token")).thenReturn(Optional.of(verified));
+        when(jwtService.toAuthenticatedUser(verified)).thenReturn(Optional.of(user));
+        when(userAccessCacheProvider.getIfAvailable()).thenReturn(userAccessCache);
+        when(userAccessCache.find(user.email())).thenReturn(Optional.of(promoted));
+
+        // Act
+        filter(request("token"));
+
+        // Assert
+        assertEquals(promoted, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void doFilter_WithRevokedToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Arrange
+        when(jwtService.verify("token")).thenReturn(Optional.of(verifiedToken()));
+        when(revokedTokenRegistry.isRevoked("token-id")).thenReturn(true);
+
+        // Act
+        filter(request("token"));
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(jwtService, never()).toAuthenticatedUser(any());
+    }
+
+    private VerifiedToken verifiedToken() {
+        Claims claims = Jwts.claims().setSubject(user.email()).setId("token-id");
+        return new VerifiedToken(claims, Instant.now().plusSeconds(60));
+    }
+
+    private MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    private void filter(MockHttpServletRequest request) throws Exception {
+        new JwtAuthenticationFilter(jwtService, revokedTokenRegistry, userAccessCacheProvider)
+                .doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
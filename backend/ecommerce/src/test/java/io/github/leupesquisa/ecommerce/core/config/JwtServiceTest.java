@@ -0,0 +1,123 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.github.leupesquisa.ecommerce.auth.domain.AuthenticatedUser;
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtService.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 60_000L, 100);
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("user@example.com");
+        user.setRole(Role.ROLE_ADMIN);
+    }
+
+    @Test
+    void extractAuthenticatedUser_WithUserToken_ShouldReturnUserFromClaims() {
+        // Arrange
+        String token = jwtService.generateToken(user, UUID.randomUUID());
+
+        // Act
+        Optional<AuthenticatedUser> authenticatedUser = jwtService.extractAuthenticatedUser(token);
+
+        // Assert
+        assertEquals(Optional.of(new AuthenticatedUser(user.getId(), "user@example.com", Role.ROLE_ADMIN)),
+                authenticatedUser);
+    }
+
+    @Test
+    void extractAuthenticatedUser_WithTamperedToken_ShouldReturnEmpty() {
+        // Arrange
+        String token = jwtService.generateToken(user, UUID.randomUUID());
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(jwtService.extractAuthenticatedUser(tampered).isEmpty());
+    }
+
+    @Test
+    void extractAuthenticatedUser_WithExpiredToken_ShouldReturnEmpty() {
+        // Arrange
+        String token = new JwtService(SECRET_KEY, -60_000L, 100).generateToken(user, UUID.randomUUID());
+
+        // Act & Assert
+        assertTrue(jwtService.extractAuthenticatedUser(token).isEmpty());
+    }
+
+    @Test
+    void extractAuthenticatedUser_WithTokenWithoutUserClaims_ShouldReturnEmpty() {
+        // Arrange
+        String token = Jwts.builder()
+                .setSubject("user@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000L))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)), SignatureAlgorithm.HS256)
+                .compact();
+
+        // Act & Assert
+        assertTrue(jwtService.extractAuthenticatedUser(token).isEmpty());
+    }
+
+    @Test
+    void verify_WithSameTokenTwice_ShouldParseItOnce() {
+        // Arrange
+        String token = jwtService.generateToken(user, UUID.randomUUID());
+
+        // Act
+        VerifiedToken first = jwtService.verify(token).orElseThrow();
+        VerifiedToken second = jwtService.verify(token).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("user@example.com", second.claims().getSubject());
+    }
+
+    @Test
+    void isTokenValid_WithTokenOfOtherUser_ShouldReturnFalse() {
+        // Arrange
+        String token = jwtService.generateToken(user, UUID.randomUUID());
+        User other = new User();
+        other.setEmail("other@example.com");
+
+        // Act & Assert
+        assertTrue(jwtService.isTokenValid(token, user));
+        assertFalse(jwtService.isTokenValid(token, other));
+    }
+
+    @Test
+    void generateToken_WithTokenId_ShouldCarryItAsJti() {
+        // Arrange
+        UUID tokenId = UUID.randomUUID();
+
+        // Act
+        Optional<VerifiedToken> verified = jwtService.verify(jwtService.generateToken(user, tokenId));
+
+        // Assert
+        assertTrue(verified.isPresent());
+        assertEquals(tokenId.toString(), verified.get().claims().getId());
+        assertEquals(user.getId(), jwtService.toAuthenticatedUser(verified.get()).orElseThrow().id());
+    }
+}
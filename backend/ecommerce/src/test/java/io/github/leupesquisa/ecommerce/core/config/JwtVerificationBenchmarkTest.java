@@ -0,0 +1,105 @@
+package io.github.leupesquisa.ecommerce.core.config;
+
+import io.github.leupesquisa.ecommerce.auth.domain.Role;
+import io.github.leupesquisa.ecommerce.auth.domain.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Micro-benchmark of the per-request cost of JWT verification.
+ * Compares the previous path (signing key and parser rebuilt on every call, token parsed three times per
+ * request) with a single verification through the shared parser, without and with the verified token cache.
+ * Skipped unless -Dbenchmark=true.
+ * <p>
+ * Usage: {@code mvn test -Dtest=JwtVerificationBenchmarkTest -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtVerificationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtVerificationBenchmarkTest.class);
+
+    private static final String SECRET_KEY = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+    private static final int TOKEN_COUNT = 1_000;
+    private static final int WARMUP_ITERATIONS = 50_000;
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    @Test
+    void compareVerificationPaths() {
+        JwtService uncached = new JwtService(SECRET_KEY, 3_600_000L, 0);
+        JwtService cached = new JwtService(SECRET_KEY, 3_600_000L, TOKEN_COUNT);
+        List<String> tokens = new ArrayList<>(TOKEN_COUNT);
+        for (int i = 0; i < TOKEN_COUNT; i++) {
+            User user = new User();
+            user.setId(UUID.randomUUID());
+            user.setEmail("bench-" + i + "@example.com");
+            user.setRole(Role.ROLE_USER);
+            tokens.add(cached.generateToken(user, UUID.randomUUID()));
+        }
+        assertTrue(legacyRequest(tokens.get(0)));
+
+        Result legacy = measure(i -> legacyRequest(tokens.get(i % TOKEN_COUNT)));
+        Result parseOnce = measure(i -> uncached.extractAuthenticatedUser(tokens.get(i % TOKEN_COUNT)));
+        Result parseOnceCached = measure(i -> cached.extractAuthenticatedUser(tokens.get(i % TOKEN_COUNT)));
+
+        report("key and parser per call, 3 parses", legacy);
+        report("shared parser, 1 parse", parseOnce);
+        report("shared parser, verified cache", parseOnceCached);
+    }
+
+    /**
+     * The previous filter path: extractUsername, then isTokenValid (extractUsername and isTokenExpired),
+     * each building the key and parser from the encoded secret.
+     */
+    private boolean legacyRequest(String token) {
+        String username = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(username);
+        return sameUser && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    private Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private Result measure(IntConsumer operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long cpuBefore = threadMXBean.getCurrentThreadCpuTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        long cpu = threadMXBean.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(cpu / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    private void report(String path, Result result) {
+        log.info("{}: {} us CPU/request, {} B/request", path, result.cpuNanosPerOp() / 1_000.0, result.bytesPerOp());
+    }
+
+    private record Result(long cpuNanosPerOp, long bytesPerOp) {}
+}
@@ -0,0 +1,80 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AsyncEventPublisher.
+ */
+@ExtendWith(MockitoExtension.class)
+class AsyncEventPublisherTest {
+
+    private final ProductStockChangedEvent event =
+            new ProductStockChangedEvent(UUID.randomUUID(), "SKU-001", "Product", 10, 7);
+
+    @Mock
+    private EventDispatcher eventDispatcher;
+
+    private AsyncEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new AsyncEventPublisher(eventDispatcher, new SyncTaskExecutor());
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_InsideTransaction_ShouldDispatchOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        publisher.publish(event);
+
+        // Assert
+        verifyNoInteractions(eventDispatcher);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(eventDispatcher).dispatch(event);
+    }
+
+    @Test
+    void publish_InsideRolledBackTransaction_ShouldNotDispatch() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        publisher.publish(event);
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(eventDispatcher);
+    }
+
+    @Test
+    void publish_OutsideTransaction_ShouldDispatchImmediately() {
+        // Act
+        publisher.publish(event);
+
+        // Assert
+        verify(eventDispatcher).dispatch(event);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CoalescedEventFlusher.
+ */
+@ExtendWith(MockitoExtension.class)
+class CoalescedEventFlusherTest {
+
+    @Mock
+    private StockEventCoalescer stockEventCoalescer;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private CoalescedEventFlusher flusher;
+
+    @Test
+    void flush_ShouldPublishMergedEvents() {
+        // Arrange
+        ProductStockChangedEvent event = new ProductStockChangedEvent(UUID.randomUUID(), "SKU-001", "Product", 10, 7);
+        when(stockEventCoalescer.drain()).thenReturn(List.of(event));
+
+        // Act
+        flusher.flush();
+
+        // Assert
+        verify(applicationEventPublisher).publishEvent(event);
+    }
+}
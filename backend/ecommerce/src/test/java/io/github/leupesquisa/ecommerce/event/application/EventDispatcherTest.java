@@ -0,0 +1,91 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EventDispatcher.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventDispatcherTest {
+
+    private final ProductStockChangedEvent event =
+            new ProductStockChangedEvent(UUID.randomUUID(), "SKU-001", "Product", 10, 7);
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ObjectProvider<StockEventCoalescer> stockEventCoalescer;
+
+    @Mock
+    private StockEventCoalescer coalescer;
+
+    @Mock
+    private DomainEventSink sink;
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void dispatch_WithoutCoalescer_ShouldPublishImmediately() {
+        // Arrange
+        when(stockEventCoalescer.getIfAvailable()).thenReturn(null);
+
+        // Act
+        new EventDispatcher(applicationEventPublisher, stockEventCoalescer, List.of(sink)).dispatch(event);
+
+        // Assert
+        verify(applicationEventPublisher).publishEvent(event);
+        verify(sink).accept(event);
+    }
+
+    @Test
+    void dispatch_InsideTransaction_ShouldPassEventToSinksInTheTransaction() {
+        // Arrange
+        when(stockEventCoalescer.getIfAvailable()).thenReturn(null);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        new EventDispatcher(applicationEventPublisher, stockEventCoalescer, List.of(sink)).dispatch(event);
+
+        // Assert
+        verify(applicationEventPublisher).publishEvent(event);
+        verify(sink).accept(event);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void dispatch_WithCoalescerInsideTransaction_ShouldOfferOnlyAfterCommit() {
+        // Arrange
+        when(stockEventCoalescer.getIfAvailable()).thenReturn(coalescer);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        new EventDispatcher(applicationEventPublisher, stockEventCoalescer, List.of(sink)).dispatch(event);
+
+        // Assert
+        verify(sink).accept(event);
+        verifyNoInteractions(coalescer, applicationEventPublisher);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(coalescer).offer(event);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MeteredEventMulticaster.
+ */
+class MeteredEventMulticasterTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> received = new ArrayList<>();
+
+    private MeteredEventMulticaster multicaster;
+
+    @BeforeEach
+    void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        multicaster = new MeteredEventMulticaster(beanFactory.getBeanProvider(MeterRegistry.class));
+        multicaster.addApplicationListener((ApplicationListener<PayloadApplicationEvent<?>>) event ->
+                received.add(event.getPayload()));
+    }
+
+    @Test
+    void multicastEvent_WithDomainEvent_ShouldTimeListener() {
+        // Arrange
+        ProductStockChangedEvent event = new ProductStockChangedEvent(UUID.randomUUID(), "SKU-001", "Product", 10, 7);
+
+        // Act
+        multicaster.multicastEvent(new PayloadApplicationEvent<>(this, event));
+
+        // Assert
+        assertEquals(List.of(event), received);
+        Timer timer = meterRegistry.find(MeteredEventMulticaster.LISTENER_TIMER)
+                .tag("event", "ProductStockChangedEvent")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void multicastEvent_WithOtherEvent_ShouldNotTimeListener() {
+        // Act
+        multicaster.multicastEvent(new ContextRefreshedEvent(new GenericApplicationContext()));
+
+        // Assert
+        assertNull(meterRegistry.find(MeteredEventMulticaster.LISTENER_TIMER).timer());
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.infrastructure.EventOutboxRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for OutboxEventPublisher.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxEventPublisherTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Mock
+    private EventOutboxRepository eventOutboxRepository;
+
+    @Test
+    void publish_ShouldAppendEventThatReadsBackUnchanged() throws Exception {
+        // Arrange
+        OutboxEventPublisher publisher = new OutboxEventPublisher(eventOutboxRepository, objectMapper);
+        ProductStockChangedEvent event = new ProductStockChangedEvent(UUID.randomUUID(), "SKU-001", "Product",
+                10, 7, ProductStockChangedEvent.StockChangeReason.ORDER);
+
+        // Act
+        publisher.publish(event);
+
+        // Assert
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(eventOutboxRepository).append(eq(ProductStockChangedEvent.class.getName()), payload.capture());
+        ProductStockChangedEvent read = objectMapper.readValue(payload.getValue(), ProductStockChangedEvent.class);
+        assertEquals(event.getProductId(), read.getProductId());
+        assertEquals(event.getProductSku(), read.getProductSku());
+        assertEquals(10, read.getOldStock());
+        assertEquals(7, read.getNewStock());
+        assertEquals(ProductStockChangedEvent.StockChangeReason.ORDER, read.getReason());
+        assertEquals(event.getTimestamp(), read.getTimestamp());
+        assertFalse(payload.getValue().contains("stockDifference"));
+    }
+}
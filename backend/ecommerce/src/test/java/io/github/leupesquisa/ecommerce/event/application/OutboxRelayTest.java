@@ -0,0 +1,110 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.github.leupesquisa.ecommerce.event.domain.OutboxMessage;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.infrastructure.EventOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxRelay.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @Mock
+    private EventOutboxRepository eventOutboxRepository;
+
+    @Mock
+    private EventDispatcher eventDispatcher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OutboxRelay(eventOutboxRepository, eventDispatcher, objectMapper, transactionTemplate, 2, 10);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_ShouldDispatchAndDeleteBatchesUntilBatchIsNotFull() throws Exception {
+        // Arrange
+        when(eventOutboxRepository.lockPending(10, 2))
+                .thenReturn(List.of(message(1, 10, 9), message(2, 9, 8)))
+                .thenReturn(List.of(message(3, 8, 7)));
+
+        // Act
+        relay.relay();
+
+        // Assert
+        ArgumentCaptor<ProductStockChangedEvent> captor = ArgumentCaptor.forClass(ProductStockChangedEvent.class);
+        verify(eventDispatcher, times(3)).dispatch(captor.capture());
+        assertEquals(List.of(9, 8, 7), captor.getAllValues().stream().map(ProductStockChangedEvent::getNewStock).toList());
+        verify(eventOutboxRepository).delete(List.of(1L, 2L));
+        verify(eventOutboxRepository).delete(List.of(3L));
+    }
+
+    @Test
+    void relay_WhenBatchFails_ShouldRetryMessagesOneByOneAndRecordFailure() throws Exception {
+        // Arrange
+        OutboxMessage bad = new OutboxMessage(1, ProductStockChangedEvent.class.getName(), "{not json");
+        OutboxMessage good = message(2, 5, 4);
+        when(eventOutboxRepository.lockPending(10, 2)).thenReturn(List.of(bad, good));
+        when(eventOutboxRepository.findPending(10, 2)).thenReturn(List.of(bad, good));
+        when(eventOutboxRepository.lock(anyLong())).thenReturn(true);
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(eventOutboxRepository).recordFailure(eq(1L), anyString());
+        verify(eventOutboxRepository).delete(List.of(2L));
+        verify(eventDispatcher).dispatch(any(ProductStockChangedEvent.class));
+    }
+
+    @Test
+    void relay_WithUnknownEventType_ShouldRecordFailure() {
+        // Arrange
+        OutboxMessage message = new OutboxMessage(1, String.class.getName(), "\"text\"");
+        when(eventOutboxRepository.lockPending(10, 2)).thenReturn(List.of(message));
+        when(eventOutboxRepository.findPending(10, 2)).thenReturn(List.of(message));
+        when(eventOutboxRepository.lock(1)).thenReturn(true);
+
+        // Act
+        relay.relay();
+
+        // Assert
+        verify(eventOutboxRepository).recordFailure(eq(1L), contains("Not a domain event type"));
+        verifyNoInteractions(eventDispatcher);
+    }
+
+    private OutboxMessage message(long id, int oldStock, int newStock) throws Exception {
+        ProductStockChangedEvent event = new ProductStockChangedEvent(UUID.randomUUID(), "SKU-" + id, "Product",
+                oldStock, newStock);
+        return new OutboxMessage(id, ProductStockChangedEvent.class.getName(), objectMapper.writeValueAsString(event));
+    }
+}
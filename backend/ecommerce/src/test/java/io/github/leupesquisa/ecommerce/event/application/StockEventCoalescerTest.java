@@ -0,0 +1,86 @@
+package io.github.leupesquisa.ecommerce.event.application;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StockEventCoalescer.
+ */
+class StockEventCoalescerTest {
+
+    private final UUID productId = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockEventCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new StockEventCoalescer(meterRegistry);
+    }
+
+    @Test
+    void drain_ShouldMergeEventsOfSameProductIntoNetChange() {
+        // Arrange
+        coalescer.offer(event(productId, 10, 9, StockChangeReason.ORDER));
+        coalescer.offer(event(productId, 9, 8, StockChangeReason.ORDER));
+        coalescer.offer(event(productId, 8, 13, StockChangeReason.RETURN));
+        coalescer.offer(event(productId, 13, 12, StockChangeReason.ORDER));
+
+        // Act
+        List<ProductStockChangedEvent> merged = coalescer.drain();
+
+        // Assert
+        assertEquals(1, merged.size());
+        ProductStockChangedEvent event = merged.get(0);
+        assertEquals(productId, event.getProductId());
+        assertEquals(10, event.getOldStock());
+        assertEquals(12, event.getNewStock());
+        assertEquals(StockChangeReason.RETURN, event.getReason());
+        assertEquals(4.0, meterRegistry.get("events.coalescing.merge.ratio").gauge().value());
+    }
+
+    @Test
+    void drain_ShouldEmitOneEventPerProduct() {
+        // Arrange
+        UUID otherProductId = UUID.randomUUID();
+        coalescer.offer(event(productId, 10, 9, StockChangeReason.ORDER));
+        coalescer.offer(event(otherProductId, 5, 20, StockChangeReason.SUPPLIER));
+
+        // Act
+        List<ProductStockChangedEvent> merged = coalescer.drain();
+
+        // Assert
+        assertEquals(2, merged.size());
+        assertEquals(2.0, meterRegistry.get("events.coalescing.emitted").counter().count());
+    }
+
+    @Test
+    void drain_ShouldStartNewWindow() {
+        // Arrange
+        coalescer.offer(event(productId, 10, 9, StockChangeReason.ORDER));
+        coalescer.drain();
+        coalescer.offer(event(productId, 9, 7, StockChangeReason.ORDER));
+
+        // Act
+        List<ProductStockChangedEvent> merged = coalescer.drain();
+
+        // Assert
+        assertEquals(1, merged.size());
+        assertEquals(9, merged.get(0).getOldStock());
+        assertEquals(7, merged.get(0).getNewStock());
+        assertTrue(coalescer.drain().isEmpty());
+    }
+
+    private ProductStockChangedEvent event(UUID id, int oldStock, int newStock, StockChangeReason reason) {
+        return new ProductStockChangedEvent(id, "SKU-001", "Product", oldStock, newStock, reason);
+    }
+}
@@ -1,12 +1,26 @@
 package io.github.leupesquisa.ecommerce.product.application;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.core.exception.GlobalExceptionHandler;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
 import io.github.leupesquisa.ecommerce.core.exception.ResourceNotFoundException;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductAvailabilityDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductBatchGetResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCountDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCursorPageDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportErrorDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportReportDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentResultDto;
+import io.github.leupesquisa.ecommerce.product.application.exporter.ProductExportFormat;
+import io.github.leupesquisa.ecommerce.product.domain.Product;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,12 +29,24 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
@@ -35,10 +61,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Uses MockMvc to simulate HTTP requests and verify responses.
  */
 @WebMvcTest(ProductController.class)
+@AutoConfigureMockMvc(addFilters = false)
 @Import(ProductControllerTest.TestConfig.class)
 class ProductControllerTest {
 
     @Configuration
+    @EnableMethodSecurity
+    @Import({ProductController.class, GlobalExceptionHandler.class})
     static class TestConfig {
         @Bean
         public ProductService productService() {
@@ -89,6 +118,11 @@ class ProductControllerTest {
         );
     }
 
+    @AfterEach
+    void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void getAllProducts_ShouldReturnPageOfProducts() throws Exception {
         // Arrange
@@ -106,6 +140,109 @@ class ProductControllerTest {
         verify(productService).getAllProducts(any(Pageable.class));
     }
 
+    @Test
+    void getProductsAfter_ShouldReturnCursorPage() throws Exception {
+        // Arrange
+        ProductCursorPageDto cursorPage = new ProductCursorPageDto(List.of(productResponseDto), 1, true, "next-cursor");
+        when(productService.getProductsAfter("", 1, "name,desc")).thenReturn(cursorPage);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products")
+                .param("after", "")
+                .param("size", "1")
+                .param("sort", "name,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+
+        verify(productService).getProductsAfter("", 1, "name,desc");
+    }
+
+    @Test
+    void searchProducts_ShouldReturnMatchingProducts() throws Exception {
+        // Arrange
+        Page<ProductResponseDto> dtoPage = new PageImpl<>(List.of(productResponseDto));
+        when(productService.searchProducts(eq("test"), any(Pageable.class))).thenReturn(dtoPage);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search").param("q", "test"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(productId.toString())));
+
+        verify(productService).searchProducts(eq("test"), any(Pageable.class));
+    }
+
+    @Test
+    void countProducts_ShouldReturnApproximateCount() throws Exception {
+        // Arrange
+        when(productService.countProducts(false)).thenReturn(new ProductCountDto(1200L, true));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(1200)))
+                .andExpect(jsonPath("$.approximate", is(true)));
+
+        verify(productService).countProducts(false);
+    }
+
+    @Test
+    void countProducts_ExactAsUser_ShouldReturnForbidden() throws Exception {
+        // Arrange
+        authenticateAs("ROLE_USER");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/count").param("exact", "true"))
+                .andExpect(status().isForbidden());
+
+        verify(productService, never()).countProducts(true);
+    }
+
+    @Test
+    void countProducts_ExactAsAdmin_ShouldReturnExactCount() throws Exception {
+        // Arrange
+        authenticateAs("ROLE_ADMIN");
+        when(productService.countProducts(true)).thenReturn(new ProductCountDto(1187L, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/count").param("exact", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(1187)))
+                .andExpect(jsonPath("$.approximate", is(false)));
+    }
+
+    @Test
+    void exportProducts_AsCsv_ShouldStreamAttachment() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(0);
+            outputStream.write("id,sku\r\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productService).exportProducts(any(), eq(ProductExportFormat.CSV));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/products/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+                .andExpect(content().string("id,sku\r\n"));
+    }
+
+    @Test
+    void exportProducts_WithUnknownFormat_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/products/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getProductById_WithExistingId_ShouldReturnProduct() throws Exception {
         // Arrange
@@ -121,6 +258,43 @@ class ProductControllerTest {
         verify(productService).getProductDtoById(productId);
     }
 
+    @Test
+    void getProductById_ShouldReturnETag() throws Exception {
+        // Arrange
+        when(productService.getProductDtoById(productId)).thenReturn(productResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ProductETags.of(productResponseDto)));
+    }
+
+    @Test
+    void getProductById_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(productService.getProductDtoById(productId)).thenReturn(productResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", productId)
+                .header("If-None-Match", ProductETags.of(productResponseDto)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getAllProducts_WithMatchingETag_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        Page<ProductResponseDto> dtoPage = new PageImpl<>(List.of(productResponseDto));
+        when(productService.getAllProducts(any(Pageable.class))).thenReturn(dtoPage);
+        String eTag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+    }
+
     @Test
     void getProductById_WithNonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
@@ -135,6 +309,101 @@ class ProductControllerTest {
         verify(productService).getProductDtoById(nonExistingId);
     }
 
+    @Test
+    void getProductsByIds_ShouldReturnProductsAndMissingIds() throws Exception {
+        // Arrange
+        UUID missingId = UUID.randomUUID();
+        when(productService.getProductDtosByIds(List.of(productId, missingId)))
+                .thenReturn(new ProductBatchGetResponseDto(List.of(productResponseDto), List.of(missingId)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[\"" + productId + "\",\"" + missingId + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].id", is(productId.toString())))
+                .andExpect(jsonPath("$.missingIds[0]", is(missingId.toString())));
+    }
+
+    @Test
+    void getProductsByIds_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(101).toList();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch-get")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adjustStock_WithValidBatch_ShouldReturnStockChanges() throws Exception {
+        // Arrange
+        doReturn(List.of(new StockAdjustmentResultDto(productId, "SKU-001", 10, 7)))
+                .when(productService).adjustProductStock(any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/stock-adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"adjustments\":[{\"productId\":\"" + productId
+                        + "\",\"delta\":-3,\"reason\":\"ORDER\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productId", is(productId.toString())))
+                .andExpect(jsonPath("$[0].newStock", is(7)));
+    }
+
+    @Test
+    void adjustStock_WithoutReason_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/stock-adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"adjustments\":[{\"productId\":\"" + productId + "\",\"delta\":-3}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adjustStock_WithInsufficientStock_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        doThrow(new InvalidRequestException("Not enough stock available for product " + productId))
+                .when(productService).adjustProductStock(any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/stock-adjustments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"adjustments\":[{\"productId\":\"" + productId
+                        + "\",\"delta\":-300,\"reason\":\"ORDER\"}]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getProductAvailability_ShouldReturnStockNetOfReservations() throws Exception {
+        // Arrange
+        doReturn(new ProductAvailabilityDto(productId, 10, 4, 6))
+                .when(productService).getProductAvailability(productId);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}/availability", productId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reservedStock", is(4)))
+                .andExpect(jsonPath("$.availableStock", is(6)));
+    }
+
+    @Test
+    void streamStockUpdates_ShouldStartEventStreamForRequestedProducts() throws Exception {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        doReturn(new SseEmitter()).when(productService).streamStockUpdates(Set.of(productId));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/stream")
+                .param("ids", productId.toString())
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+        verify(productService).streamStockUpdates(Set.of(productId));
+    }
+
     @Test
     void createProduct_WithValidData_ShouldReturnCreatedProduct() throws Exception {
         // Arrange
@@ -152,6 +421,22 @@ class ProductControllerTest {
         verify(productService).createProduct(any(ProductRequestDto.class));
     }
 
+    @Test
+    void importProducts_WithNdjson_ShouldReturnReport() throws Exception {
+        // Arrange
+        ProductImportReportDto report = new ProductImportReportDto(2, 1, 1,
+                List.of(new ProductImportErrorDto(2, "SKU-002", "Product already exists with sku: 'SKU-002'")), false);
+        when(productService.importProducts(any(), eq("application/x-ndjson"))).thenReturn(report);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/import")
+                .contentType("application/x-ndjson")
+                .content("{\"sku\":\"SKU-001\"}\n{\"sku\":\"SKU-002\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+    }
+
     @Test
     void updateProduct_WithValidData_ShouldReturnUpdatedProduct() throws Exception {
         // Arrange
@@ -168,6 +453,42 @@ class ProductControllerTest {
         verify(productService).updateProduct(eq(productId), any(ProductRequestDto.class));
     }
 
+    @Test
+    void updateProduct_WithConcurrentModification_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(productService.updateProduct(eq(productId), any(ProductRequestDto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, productId));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/{id}", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productRequestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error", is("Concurrent Modification")));
+    }
+
+    @Test
+    void updateProductStock_WithValidStock_ShouldReturnUpdatedProduct() throws Exception {
+        // Arrange
+        when(productService.updateProductStock(productId, 7, StockChangeReason.INVENTORY)).thenReturn(productResponseDto);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/{id}/stock", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\":7,\"reason\":\"INVENTORY\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(productId.toString())));
+    }
+
+    @Test
+    void updateProductStock_WithNegativeStock_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(put("/api/products/{id}/stock", productId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"stock\":-1,\"reason\":\"INVENTORY\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deleteProduct_WithExistingId_ShouldReturnNoContent() throws Exception {
         // Arrange
@@ -179,4 +500,9 @@ class ProductControllerTest {
 
         verify(productService).deleteProduct(productId);
     }
-}
\ No newline at end of file
+
+    private void authenticateAs(String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "user@example.com", null, List.of(new SimpleGrantedAuthority(role))));
+    }
+}
@@ -1,31 +1,81 @@
 package io.github.leupesquisa.ecommerce.product.application;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.cart.infrastructure.CartItemRepository;
+import io.github.leupesquisa.ecommerce.core.config.CacheConfig;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
 import io.github.leupesquisa.ecommerce.core.exception.ResourceNotFoundException;
 import io.github.leupesquisa.ecommerce.event.application.EventPublisher;
 import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.application.dto.CategoryFacetDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductBatchGetResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCountDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductCursorPageDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
 import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentResultDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockMovementPageDto;
+import io.github.leupesquisa.ecommerce.product.application.exporter.ProductExporter;
+import io.github.leupesquisa.ecommerce.product.application.importer.ProductImporter;
 import io.github.leupesquisa.ecommerce.product.application.mapper.ProductMapper;
+import io.github.leupesquisa.ecommerce.product.application.pagination.ProductCursorCodec;
+import io.github.leupesquisa.ecommerce.product.application.pagination.StockMovementCursor;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductCountEstimator;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductFacetMaintainer;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductStockManager;
+import io.github.leupesquisa.ecommerce.product.application.validator.ProductValidator;
 import io.github.leupesquisa.ecommerce.product.domain.Product;
+import io.github.leupesquisa.ecommerce.product.domain.ProductCategoryFacet;
+import io.github.leupesquisa.ecommerce.product.domain.StockAdjustment;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevelChange;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductCategoryFacetRepository;
 import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,6 +94,49 @@ class ProductServiceTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ProductValidator productValidator;
+
+    @Mock
+    private ProductCountEstimator productCountEstimator;
+
+    @Mock
+    private ProductFacetMaintainer productFacetMaintainer;
+
+    @Mock
+    private ProductCategoryFacetRepository productCategoryFacetRepository;
+
+    @Mock
+    private ProductImporter productImporter;
+
+    @Mock
+    private ProductExporter productExporter;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ProductStockManager productStockManager;
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Mock
+    private CartItemRepository cartItemRepository;
+
+    @Spy
+    private ProductCursorCodec productCursorCodec = new ProductCursorCodec(new ObjectMapper());
+
+    @Spy
+    private Retry stockUpdateRetry = Retry.of("stockUpdate", RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .retryExceptions(OptimisticLockingFailureException.class, PessimisticLockingFailureException.class)
+            .build());
+
     @InjectMocks
     private ProductService productService;
 
@@ -64,7 +157,9 @@ class ProductServiceTest {
         product.setDescription("Test Description");
         product.setPrice(BigDecimal.valueOf(99.99));
         product.setStock(10);
+        product.setReservedStock(0);
         product.setCategory("Test Category");
+        product.setCreatedAt(LocalDateTime.now());
         
         // Set up request DTO
         productRequestDto = new ProductRequestDto(
@@ -96,9 +191,8 @@ class ProductServiceTest {
     void getAllProducts_ShouldReturnPageOfProductDtos() {
         // Arrange
         Pageable pageable = Pageable.unpaged();
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        when(productRepository.findAll(pageable)).thenReturn(productPage);
-        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+        Page<ProductResponseDto> dtoPage = new PageImpl<>(List.of(productResponseDto));
+        when(productRepository.findAllDtos(pageable)).thenReturn(dtoPage);
 
         // Act
         Page<ProductResponseDto> result = productService.getAllProducts(pageable);
@@ -107,8 +201,231 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals(productId, result.getContent().get(0).id());
-        verify(productRepository).findAll(pageable);
-        verify(productMapper).toResponseDto(product);
+        verify(productRepository).findAllDtos(pageable);
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void searchProducts_ShouldDropSortAndMapResults() {
+        // Arrange
+        Pageable pageable = PageRequest.of(1, 10, Sort.by("name"));
+        when(productRepository.search("blue shirt", PageRequest.of(1, 10)))
+                .thenReturn(new PageImpl<>(List.of(product)));
+        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+
+        // Act
+        Page<ProductResponseDto> result = productService.searchProducts(" blue shirt ", pageable);
+
+        // Assert
+        assertEquals(1, result.getContent().size());
+        assertEquals(productId, result.getContent().get(0).id());
+    }
+
+    @Test
+    void searchProducts_WithBlankQuery_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productService.searchProducts("  ", Pageable.unpaged()));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getProductSlice_ShouldReturnSliceWithoutCounting() {
+        // Arrange
+        Pageable pageable = Pageable.ofSize(1);
+        Slice<ProductResponseDto> dtoSlice = new SliceImpl<>(List.of(productResponseDto), pageable, true);
+        when(productRepository.findDtoSlice(pageable)).thenReturn(dtoSlice);
+
+        // Act
+        Slice<ProductResponseDto> result = productService.getProductSlice(pageable);
+
+        // Assert
+        assertTrue(result.hasNext());
+        assertEquals(productId, result.getContent().get(0).id());
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void countProducts_ByDefault_ShouldServeEstimate() {
+        // Arrange
+        when(productCountEstimator.estimate()).thenReturn(42L);
+
+        // Act
+        ProductCountDto result = productService.countProducts(false);
+
+        // Assert
+        assertEquals(new ProductCountDto(42L, true), result);
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void countProducts_WhenExact_ShouldCountRows() {
+        // Arrange
+        when(productRepository.count()).thenReturn(7L);
+
+        // Act
+        ProductCountDto result = productService.countProducts(true);
+
+        // Assert
+        assertEquals(new ProductCountDto(7L, false), result);
+        verifyNoInteractions(productCountEstimator);
+    }
+
+    @Test
+    void getProductDtosByIds_ShouldCombineCacheAndQueryInRequestOrder() {
+        // Arrange
+        UUID cachedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        ProductResponseDto cachedDto = new ProductResponseDto(cachedId, "CACHED-SKU", "Cached Product", null,
+                BigDecimal.ONE, 1, null, null, LocalDateTime.now(), null);
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.PRODUCTS_CACHE);
+        cache.put(cachedId, cachedDto);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+        when(productRepository.findDtosByIdIn(List.of(productId, missingId))).thenReturn(List.of(productResponseDto));
+
+        // Act
+        ProductBatchGetResponseDto result = productService.getProductDtosByIds(
+                List.of(productId, cachedId, missingId, productId));
+
+        // Assert
+        assertEquals(List.of(productResponseDto, cachedDto), result.products());
+        assertEquals(List.of(missingId), result.missingIds());
+        assertEquals(productResponseDto, cache.get(productId, ProductResponseDto.class));
+        verify(productRepository).findDtosByIdIn(List.of(productId, missingId));
+    }
+
+    @Test
+    void getProductDtosByIds_WhenAllCached_ShouldNotQuery() {
+        // Arrange
+        ConcurrentMapCache cache = new ConcurrentMapCache(CacheConfig.PRODUCTS_CACHE);
+        cache.put(productId, productResponseDto);
+        when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(cache);
+
+        // Act
+        ProductBatchGetResponseDto result = productService.getProductDtosByIds(List.of(productId));
+
+        // Assert
+        assertEquals(List.of(productResponseDto), result.products());
+        assertTrue(result.missingIds().isEmpty());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void getCategoryFacets_ShouldExposeUncategorizedAsNull() {
+        // Arrange
+        ProductCategoryFacet uncategorized = new ProductCategoryFacet();
+        uncategorized.setCategory(ProductCategoryFacet.UNCATEGORIZED);
+        uncategorized.setProductCount(2);
+        uncategorized.setInStockCount(1);
+        ProductCategoryFacet shoes = new ProductCategoryFacet();
+        shoes.setCategory("Shoes");
+        shoes.setProductCount(5);
+        shoes.setInStockCount(4);
+        when(productCategoryFacetRepository.findByProductCountGreaterThanOrderByCategoryAsc(0))
+                .thenReturn(List.of(uncategorized, shoes));
+
+        // Act
+        List<CategoryFacetDto> result = productService.getCategoryFacets();
+
+        // Assert
+        assertEquals(List.of(new CategoryFacetDto(null, 2, 1), new CategoryFacetDto("Shoes", 5, 4)), result);
+    }
+
+    @Test
+    void getProductsAfter_WithMoreResults_ShouldReturnNextCursor() {
+        // Arrange
+        Window<Product> window = Window.from(List.of(product),
+                index -> ScrollPosition.forward(Map.of("name", product.getName(), "id", product.getId())),
+                true);
+        when(productRepository.findBy(any(ScrollPosition.class), eq(Sort.by(Sort.Direction.ASC, "name", "id")), eq(Limit.of(1))))
+                .thenReturn(window);
+        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+
+        // Act
+        ProductCursorPageDto firstPage = productService.getProductsAfter(null, 1, "name");
+
+        // Assert
+        assertEquals(1, firstPage.content().size());
+        assertTrue(firstPage.hasNext());
+        assertNotNull(firstPage.nextCursor());
+        assertEquals(Map.of("name", "Test Product", "id", productId),
+                productCursorCodec.decode(firstPage.nextCursor()).keys());
+    }
+
+    @Test
+    void getProductsAfter_OnLastPage_ShouldReturnNoCursor() {
+        // Arrange
+        Window<Product> window = Window.from(List.of(product),
+                index -> ScrollPosition.forward(Map.of("createdAt", product.getCreatedAt(), "id", product.getId())),
+                false);
+        when(productRepository.findBy(any(ScrollPosition.class), any(Sort.class), any(Limit.class))).thenReturn(window);
+        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+
+        // Act
+        ProductCursorPageDto page = productService.getProductsAfter("", 20, null);
+
+        // Assert
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getStockMovements_WithMoreResults_ShouldReturnCursorOfLastMovement() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        StockMovement newer = new StockMovement(2L, productId, -1, 5, 4, StockChangeReason.ORDER, from.plusDays(2));
+        StockMovement older = new StockMovement(1L, productId, 5, 0, 5, StockChangeReason.SUPPLIER, from.plusDays(1));
+        when(stockMovementRepository.findByProductId(productId, from, to, null, null, 2))
+                .thenReturn(List.of(newer, older));
+
+        // Act
+        StockMovementPageDto page = productService.getStockMovements(productId, from, to, null, 1);
+
+        // Assert
+        assertEquals(1, page.size());
+        assertTrue(page.hasNext());
+        assertEquals(new StockMovementCursor(newer.occurredAt(), 2L), StockMovementCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getStockMovements_WithCursor_ShouldSeekPastIt() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2025, 2, 1, 0, 0);
+        StockMovementCursor cursor = new StockMovementCursor(from.plusDays(2), 2L);
+        when(stockMovementRepository.findByProductId(productId, from, to, cursor.occurredAt(), 2L, 51))
+                .thenReturn(List.of());
+
+        // Act
+        StockMovementPageDto page = productService.getStockMovements(productId, from, to, cursor.encode(), 50);
+
+        // Assert
+        assertEquals(0, page.size());
+        assertFalse(page.hasNext());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getStockMovements_WithEmptyRange_ShouldThrowInvalidRequest() {
+        // Arrange
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productService.getStockMovements(productId, at, at, null, 50));
+        verifyNoInteractions(stockMovementRepository);
+    }
+
+    @Test
+    void streamStockUpdates_WithTooManyIds_ShouldThrowInvalidRequest() {
+        // Arrange
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i <= ProductService.MAX_STREAM_PRODUCT_IDS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productService.streamStockUpdates(ids));
     }
 
     @Test
@@ -129,8 +446,7 @@ class ProductServiceTest {
     @Test
     void getProductDtoById_WithExistingId_ShouldReturnProductDto() {
         // Arrange
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+        when(productRepository.findDtoById(productId)).thenReturn(Optional.of(productResponseDto));
 
         // Act
         ProductResponseDto result = productService.getProductDtoById(productId);
@@ -139,8 +455,9 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(productId, result.id());
         assertEquals("Test Product", result.name());
-        verify(productRepository).findById(productId);
-        verify(productMapper).toResponseDto(product);
+        verify(productRepository).findDtoById(productId);
+        verify(productRepository, never()).findById(any());
+        verifyNoInteractions(productMapper);
     }
 
     @Test
@@ -173,12 +490,13 @@ class ProductServiceTest {
         verify(productMapper).toEntity(productRequestDto);
         verify(productRepository).save(product);
         verify(productMapper).toResponseDto(product);
+        verify(productFacetMaintainer).productCreated("Test Category", 10);
     }
 
     @Test
     void updateProduct_WithExistingId_ShouldUpdateAndReturnProductDto() {
         // Arrange
-        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.of(product));
         when(productRepository.save(product)).thenReturn(product);
         when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
 
@@ -189,58 +507,166 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(productId, result.id());
         assertEquals("Test Product", result.name());
-        verify(productRepository).findById(productId);
+        verify(productRepository).findByIdForUpdate(productId);
         verify(productMapper).updateEntityFromDto(productRequestDto, product);
         verify(productRepository).save(product);
         verify(productMapper).toResponseDto(product);
+        verify(productFacetMaintainer).productChanged("Test Category", 10, "Test Category", 10);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
-    void deleteProduct_WithExistingId_ShouldDeleteProduct() {
+    void updateProduct_WithChangedStock_ShouldPublishInventoryStockChange() {
         // Arrange
-        when(productRepository.existsById(productId)).thenReturn(true);
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.of(product));
+        doAnswer(invocation -> {
+            product.setStock(4);
+            return null;
+        }).when(productMapper).updateEntityFromDto(productRequestDto, product);
+        when(productRepository.save(product)).thenReturn(product);
+
+        // Act
+        productService.updateProduct(productId, productRequestDto);
+
+        // Assert
+        ArgumentCaptor<ProductStockChangedEvent> captor = ArgumentCaptor.forClass(ProductStockChangedEvent.class);
+        verify(eventPublisher).publish(captor.capture());
+        assertEquals(productId, captor.getValue().getProductId());
+        assertEquals(10, captor.getValue().getOldStock());
+        assertEquals(4, captor.getValue().getNewStock());
+        assertEquals(ProductStockChangedEvent.StockChangeReason.INVENTORY, captor.getValue().getReason());
+    }
+
+    @Test
+    void updateProduct_WithStockBelowReservedStock_ShouldThrowException() {
+        // Arrange
+        product.setReservedStock(11);
+        when(productRepository.findByIdForUpdate(productId)).thenReturn(Optional.of(product));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productService.updateProduct(productId, productRequestDto));
+        verify(productMapper, never()).updateEntityFromDto(any(), any());
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteProduct_WithExistingId_ShouldDeleteCartItemsThenProduct() {
+        // Arrange
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
 
         // Act
         productService.deleteProduct(productId);
 
         // Assert
-        verify(productRepository).existsById(productId);
-        verify(productRepository).deleteById(productId);
+        verify(productRepository).findById(productId);
+        InOrder inOrder = inOrder(cartItemRepository, productRepository);
+        inOrder.verify(cartItemRepository).deleteAllByProductId(productId);
+        inOrder.verify(productRepository).delete(product);
+        verify(productFacetMaintainer).productDeleted("Test Category", 10);
     }
 
     @Test
     void deleteProduct_WithNonExistingId_ShouldThrowException() {
         // Arrange
         UUID nonExistingId = UUID.randomUUID();
-        when(productRepository.existsById(nonExistingId)).thenReturn(false);
+        when(productRepository.findById(nonExistingId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             productService.deleteProduct(nonExistingId);
         });
-        verify(productRepository).existsById(nonExistingId);
-        verify(productRepository, never()).deleteById(any());
+        verify(productRepository).findById(nonExistingId);
+        verify(productRepository, never()).delete(any());
+        verifyNoInteractions(cartItemRepository, productFacetMaintainer);
     }
 
     @Test
-    void updateProductStock_ShouldUpdateStockAndReturnProductDto() {
+    void updateProductStock_ShouldSetStockAtomicallyAndReturnProductDto() {
         // Arrange
-        int newStock = 5;
-        ProductStockChangedEvent.StockChangeReason reason = ProductStockChangedEvent.StockChangeReason.ORDER;
-        
+        ProductStockChangedEvent.StockChangeReason reason = ProductStockChangedEvent.StockChangeReason.INVENTORY;
+
+        runTransactionsInline();
         when(productRepository.findById(productId)).thenReturn(Optional.of(product));
-        when(productRepository.save(product)).thenReturn(product);
         when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
 
         // Act
-        ProductResponseDto result = productService.updateProductStock(productId, newStock, reason);
+        ProductResponseDto result = productService.updateProductStock(productId, 5, reason);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(productId, result.id());
-        verify(productRepository).findById(productId);
-        verify(productRepository).save(product);
-        verify(eventPublisher).publish(any(ProductStockChangedEvent.class));
-        verify(productMapper).toResponseDto(product);
+        assertEquals(productResponseDto, result);
+        verify(productStockManager).updateStock(productId, 5, reason);
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void updateProductStock_WhenLockingRaceIsLost_ShouldRetryInNewTransaction() {
+        // Arrange
+        runTransactionsInline();
+        when(productStockManager.updateStock(productId, 5, ProductStockChangedEvent.StockChangeReason.INVENTORY))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(new StockLevelChange(productId, "SKU-001", "Test Product", 10, 5));
+        when(productRepository.findById(productId)).thenReturn(Optional.of(product));
+        when(productMapper.toResponseDto(product)).thenReturn(productResponseDto);
+
+        // Act
+        ProductResponseDto result = productService.updateProductStock(productId, 5,
+                ProductStockChangedEvent.StockChangeReason.INVENTORY);
+
+        // Assert
+        assertEquals(productResponseDto, result);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void updateProductStock_WhenLockingRaceKeepsBeingLost_ShouldGiveUp() {
+        // Arrange
+        runTransactionsInline();
+        when(productStockManager.updateStock(productId, 5, ProductStockChangedEvent.StockChangeReason.INVENTORY))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // Act & Assert
+        assertThrows(CannotAcquireLockException.class, () -> productService.updateProductStock(
+                productId, 5, ProductStockChangedEvent.StockChangeReason.INVENTORY));
+        verify(transactionTemplate, times(3)).execute(any());
+        verifyNoInteractions(productMapper);
+    }
+
+    @Test
+    void adjustProductStock_ShouldDelegateToStockManagerAndMapChanges() {
+        // Arrange
+        List<StockAdjustmentDto> adjustments = List.of(
+                new StockAdjustmentDto(productId, -2, ProductStockChangedEvent.StockChangeReason.ORDER));
+        when(productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, -2, ProductStockChangedEvent.StockChangeReason.ORDER))))
+                .thenReturn(List.of(new StockLevelChange(productId, "SKU-001", "Test Product", 10, 8)));
+
+        // Act
+        List<StockAdjustmentResultDto> result = productService.adjustProductStock(adjustments);
+
+        // Assert
+        assertEquals(List.of(new StockAdjustmentResultDto(productId, "SKU-001", 10, 8)), result);
+    }
+
+    @Test
+    void adjustProductStock_WhenLockingRaceIsLost_ShouldRetryWholeBatch() {
+        // Arrange
+        List<StockAdjustment> stockAdjustments = List.of(
+                new StockAdjustment(productId, 4, ProductStockChangedEvent.StockChangeReason.SUPPLIER));
+        when(productStockManager.adjustStock(stockAdjustments))
+                .thenThrow(new CannotAcquireLockException("deadlock detected"))
+                .thenReturn(List.of(new StockLevelChange(productId, "SKU-001", "Test Product", 10, 14)));
+
+        // Act
+        List<StockAdjustmentResultDto> result = productService.adjustProductStock(List.of(
+                new StockAdjustmentDto(productId, 4, ProductStockChangedEvent.StockChangeReason.SUPPLIER)));
+
+        // Assert
+        assertEquals(List.of(new StockAdjustmentResultDto(productId, "SKU-001", 10, 14)), result);
+        verify(productStockManager, times(2)).adjustStock(stockAdjustments);
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,210 @@
+package io.github.leupesquisa.ecommerce.product.application;
+
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.StockAdjustmentDto;
+import io.github.leupesquisa.ecommerce.product.domain.Product;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import io.github.resilience4j.retry.Retry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency stress test for stock updates.
+ * Many threads hammer a single product through the service entry points, and the result is checked
+ * against the number of writes that reported success, so any lost update or oversell makes the test fail.
+ * Batch adjustments are also run in opposing product orders, so a lock-ordering deadlock fails the test.
+ * Runs against the configured PostgreSQL database and is skipped unless -Dbenchmark=true.
+ * <p>
+ * Usage: {@code mvn test -Dtest=ProductStockConcurrencyStressTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductStockConcurrencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStockConcurrencyStressTest.class);
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 50;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private Retry stockUpdateRetry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @AfterEach
+    void removeProducts() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.deleteAllByIdInBatch(productIds));
+    }
+
+    @Test
+    void stockSetsRacingProductUpdatesLoseNoUpdates() throws Exception {
+        UUID productId = createProduct(0);
+        String sku = transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow().getSku());
+        long versionBefore = versionOf(productId);
+        AtomicInteger attempt = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        long retriesBefore = stockUpdateRetry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt();
+
+        // Every fourth write is an entity update of the whole product, racing with the atomic stock sets
+        Run run = run(() -> {
+            int value = attempt.incrementAndGet();
+            try {
+                if (value % 4 == 0) {
+                    productService.updateProduct(productId, new ProductRequestDto(
+                            sku, "Stress Product " + value, null, BigDecimal.TEN, value, null, null));
+                } else {
+                    productService.updateProductStock(productId, value, StockChangeReason.INVENTORY);
+                }
+                return true;
+            } catch (ConcurrencyFailureException e) {
+                conflicts.incrementAndGet();
+                return false;
+            }
+        });
+
+        report("stock set and product update", run);
+        log.info("stock set and product update - {} stock sets succeeded after retrying, {} writes conflicted",
+                stockUpdateRetry.getMetrics().getNumberOfSuccessfulCallsWithRetryAttempt() - retriesBefore,
+                conflicts.get());
+        // Every committed write bumps the version once, so an overwritten write would leave a gap
+        assertEquals(run.succeeded(), versionOf(productId) - versionBefore, "every committed write must be counted");
+        assertEquals(THREADS * OPERATIONS_PER_THREAD, run.succeeded() + conflicts.get());
+    }
+
+    @Test
+    void atomicDecrementNeverOversells() throws Exception {
+        int initialStock = THREADS * OPERATIONS_PER_THREAD / 2;
+        UUID productId = createProduct(initialStock);
+
+        Run run = run(() -> {
+            try {
+                productService.adjustProductStock(List.of(new StockAdjustmentDto(productId, -1, StockChangeReason.ORDER)));
+                return true;
+            } catch (InvalidRequestException e) {
+                return false;
+            }
+        });
+
+        report("atomic decrement", run);
+        assertEquals(initialStock, run.succeeded(), "exactly the available stock must be sold");
+        assertEquals(0, stockOf(productId));
+    }
+
+    @Test
+    void batchAdjustmentsInOpposingOrderNeverDeadlock() throws Exception {
+        List<UUID> batchIds = List.of(createProduct(0), createProduct(0), createProduct(0), createProduct(0));
+        List<UUID> reversedIds = new ArrayList<>(batchIds);
+        Collections.reverse(reversedIds);
+        AtomicInteger attempt = new AtomicInteger();
+
+        // Half of the batches list the products in reverse, which deadlocks if rows are locked in request order
+        Run run = run(() -> {
+            List<UUID> ids = attempt.getAndIncrement() % 2 == 0 ? batchIds : reversedIds;
+            productService.adjustProductStock(ids.stream()
+                    .map(id -> new StockAdjustmentDto(id, 1, StockChangeReason.SUPPLIER))
+                    .toList());
+            return true;
+        });
+
+        report("batch adjustment", run);
+        for (UUID productId : batchIds) {
+            assertEquals(run.succeeded(), stockOf(productId), "every batch must be applied to every product");
+        }
+    }
+
+    private UUID createProduct(int stock) {
+        Product product = new Product();
+        product.setSku("STRESS-" + UUID.randomUUID().toString().substring(0, 8));
+        product.setName("Stress Product");
+        product.setPrice(BigDecimal.TEN);
+        product.setStock(stock);
+        UUID productId = transactionTemplate.execute(status -> productRepository.save(product).getId());
+        productIds.add(productId);
+        return productId;
+    }
+
+    private long versionOf(UUID productId) {
+        return transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow().getVersion());
+    }
+
+    private int stockOf(UUID productId) {
+        return transactionTemplate.execute(status -> productRepository.findById(productId).orElseThrow().getStock());
+    }
+
+    private Run run(Operation operation) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                int succeeded = 0;
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    if (operation.attempt()) {
+                        succeeded++;
+                    }
+                }
+                return succeeded;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Integer> future : futures) {
+            succeeded += future.get();
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        return new Run(succeeded, elapsed);
+    }
+
+    private void report(String scenario, Run run) {
+        int operations = THREADS * OPERATIONS_PER_THREAD;
+        log.info("{} - {} threads, {} operations, {} succeeded in {} ms ({} ops/s)",
+                scenario, THREADS, operations, run.succeeded(), run.elapsedNanos() / 1_000_000,
+                Math.round(operations / (run.elapsedNanos() / 1_000_000_000.0)));
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        boolean attempt();
+    }
+
+    private record Run(int succeeded, long elapsedNanos) {}
+}
@@ -0,0 +1,135 @@
+package io.github.leupesquisa.ecommerce.product.application.exporter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductExporter.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductExporterTest {
+
+    private static final UUID PRODUCT_ID = UUID.fromString("7f9c24e8-3b12-4fef-91e4-2f4a6f0c5b1a");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private ProductExporter productExporter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productExporter = new ProductExporter(jdbcTemplate, transactionManager,
+                new ObjectMapper().findAndRegisterModules(), 500);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler rowHandler = invocation.getArgument(1);
+            rowHandler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        lenient().when(resultSet.getObject("id", UUID.class)).thenReturn(PRODUCT_ID);
+        lenient().when(resultSet.getString("sku")).thenReturn("SKU-001");
+        lenient().when(resultSet.getString("name")).thenReturn("Shoe, \"Runner\"");
+        lenient().when(resultSet.getBigDecimal("price")).thenReturn(new BigDecimal("10.50"));
+        lenient().when(resultSet.getInt("stock")).thenReturn(4);
+        lenient().when(resultSet.getString("category")).thenReturn("Shoes");
+        lenient().when(resultSet.getObject("created_at", LocalDateTime.class))
+                .thenReturn(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+    }
+
+    @Test
+    void exportProducts_AsCsv_ShouldWriteHeaderAndQuotedRows() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        productExporter.exportProducts(output, ProductExportFormat.CSV);
+
+        // Assert
+        assertEquals(CsvProductRowWriter.HEADER + "\r\n"
+                + PRODUCT_ID + ",SKU-001,\"Shoe, \"\"Runner\"\"\",,10.50,4,Shoes,,2024-01-02T03:04:05,\r\n",
+                output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportProducts_AsNdjson_ShouldWriteOneObjectPerLine() throws IOException {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        productExporter.exportProducts(output, ProductExportFormat.NDJSON);
+
+        // Assert
+        String text = output.toString(StandardCharsets.UTF_8);
+        assertTrue(text.endsWith("}\n"));
+        assertEquals(1, text.lines().count());
+        assertTrue(text.contains("\"sku\":\"SKU-001\""));
+        assertTrue(text.contains("\"price\":10.50"));
+    }
+
+    @Test
+    void exportProducts_ShouldReadWithCursorInSnapshotTransaction() throws Exception {
+        // Arrange
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(ProductExporter.EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)).thenReturn(statement);
+
+        // Act
+        productExporter.exportProducts(new ByteArrayOutputStream(), ProductExportFormat.NDJSON);
+
+        // Assert
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(RowCallbackHandler.class));
+        assertSame(statement, creator.getValue().createPreparedStatement(connection));
+        verify(statement).setFetchSize(500);
+    }
+
+    @Test
+    void exportProducts_WhenClientDisconnects_ShouldRollBackAndRethrow() {
+        // Arrange
+        OutputStream brokenOutput = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> productExporter.exportProducts(brokenOutput, ProductExportFormat.NDJSON));
+        verify(transactionManager).rollback(any());
+    }
+}
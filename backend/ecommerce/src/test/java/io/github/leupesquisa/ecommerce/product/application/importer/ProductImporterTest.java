@@ -0,0 +1,208 @@
+package io.github.leupesquisa.ecommerce.product.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportErrorDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductImportReportDto;
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductRequestDto;
+import io.github.leupesquisa.ecommerce.product.application.service.ProductFacetMaintainer;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductImporter.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductImporterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductFacetMaintainer productFacetMaintainer;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductImporter productImporter;
+
+    @BeforeEach
+    void setUp() {
+        productImporter = newImporter(2);
+    }
+
+    @Test
+    void importProducts_WithNdjson_ShouldInsertValidRowsInChunks() {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        String body = """
+                {"sku":"SKU-001","name":"Product 1","price":10.00,"stock":1,"category":"Shoes"}
+                {"sku":"SKU-002","name":"Product 2","price":20.00,"stock":0}
+
+                {"sku":"SKU-003","name":"Product 3","price":30.00,"stock":3}
+                """;
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(3, report.received());
+        assertEquals(3, report.imported());
+        assertEquals(0, report.failed());
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(ProductImporter.INSERT_SQL), anyList(), any(int[].class));
+        verify(productRepository, times(2)).findExistingSkus(anyCollection());
+        verify(productFacetMaintainer, times(2)).productsCreated(anyList());
+    }
+
+    @Test
+    void importProducts_WithInvalidRows_ShouldReportThemWithLineNumbers() {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(Set.of("SKU-002"));
+        String body = """
+                {"sku":"SKU-001","name":"Product 1","price":10.00,"stock":1}
+                {"sku":"SKU-002","name":"Product 2","price":20.00,"stock":1}
+                {"sku":"SKU-003","name":"Product 3","price":-1,"stock":1}
+                {"sku":"SKU-004",
+                """;
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(4, report.received());
+        assertEquals(1, report.imported());
+        assertEquals(3, report.failed());
+        assertFalse(report.errorsTruncated());
+        List<Long> lines = report.errors().stream().map(ProductImportErrorDto::line).sorted().toList();
+        assertEquals(List.of(2L, 3L, 4L), lines);
+        assertTrue(report.errors().stream().anyMatch(error -> "SKU-002".equals(error.sku())
+                && error.message().contains("already exists")));
+        assertTrue(report.errors().stream().anyMatch(error -> error.line() == 3
+                && error.message().startsWith("price:")));
+    }
+
+    @Test
+    void importProducts_WithCsv_ShouldParseQuotedFields() {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        String body = "sku,name,description,price,stock,image_url\r\n"
+                + "SKU-001,\"Shoe, \"\"Runner\"\"\",\"Line one\nline two\",10.50,4,\r\n"
+                + "SKU-002,Boot,,abc,1,\r\n";
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.CSV);
+
+        // Assert
+        assertEquals(2, report.received());
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new ProductImportErrorDto(4, null, "Invalid price: abc")), report.errors());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ProductRequestDto>> captor = ArgumentCaptor.forClass(List.class);
+        verify(productFacetMaintainer).productsCreated(captor.capture());
+        ProductRequestDto product = captor.getValue().get(0);
+        assertEquals("Shoe, \"Runner\"", product.name());
+        assertEquals("Line one\nline two", product.description());
+        assertEquals(new BigDecimal("10.50"), product.price());
+        assertNull(product.imageUrl());
+    }
+
+    @Test
+    void importProducts_WithCsvMissingRequiredColumn_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () ->
+                productImporter.importProducts(stream("sku,name,stock\n"), ProductImportFormat.CSV));
+    }
+
+    @Test
+    void importProducts_WithDuplicateSkuInFile_ShouldRejectLaterRow() {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        String body = """
+                {"sku":"SKU-001","name":"Product 1","price":10.00,"stock":1}
+                {"sku":"SKU-001","name":"Product 1","price":10.00,"stock":1}
+                """;
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, report.imported());
+        assertEquals(List.of(new ProductImportErrorDto(2, "SKU-001", "Duplicate SKU in file: 'SKU-001'")),
+                report.errors());
+    }
+
+    @Test
+    void importProducts_WhenChunkIsRejected_ShouldRetryRowByRow() {
+        // Arrange
+        when(productRepository.findExistingSkus(anyCollection())).thenReturn(Set.of());
+        when(jdbcTemplate.batchUpdate(eq(ProductImporter.INSERT_SQL), anyList(), any(int[].class)))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenReturn(new int[]{1})
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        String body = """
+                {"sku":"SKU-001","name":"Product 1","price":10.00,"stock":1}
+                {"sku":"SKU-002","name":"Product 2","price":10.00,"stock":1,"category":"%s"}
+                """.formatted("x".repeat(60));
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(1, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(new ProductImportErrorDto(2, "SKU-002", "Rejected by the database"), report.errors().get(0));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void importProducts_WithManyErrors_ShouldTruncateErrorList() {
+        // Arrange
+        productImporter = newImporter(2, 1);
+        String body = "{}\n{}\n";
+
+        // Act
+        ProductImportReportDto report = productImporter.importProducts(stream(body), ProductImportFormat.NDJSON);
+
+        // Assert
+        assertEquals(2, report.failed());
+        assertEquals(1, report.errors().size());
+        assertTrue(report.errorsTruncated());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private ProductImporter newImporter(int chunkSize) {
+        return newImporter(chunkSize, 100);
+    }
+
+    private ProductImporter newImporter(int chunkSize, int maxErrors) {
+        return new ProductImporter(productRepository, productFacetMaintainer, jdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), chunkSize, maxErrors);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.leupesquisa.ecommerce.product.application.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductCursorCodec.
+ */
+class ProductCursorCodecTest {
+
+    private final ProductCursorCodec codec = new ProductCursorCodec(new ObjectMapper());
+
+    @Test
+    void first_WithoutSort_ShouldUseDefaultSort() {
+        // Act
+        ProductCursor cursor = codec.first(null);
+
+        // Assert
+        assertEquals("createdAt", cursor.property());
+        assertEquals(Sort.Direction.ASC, cursor.direction());
+        assertTrue(cursor.toScrollPosition().isInitial());
+    }
+
+    @Test
+    void first_WithSortExpression_ShouldParsePropertyAndDirection() {
+        // Act
+        ProductCursor cursor = codec.first("price,desc");
+
+        // Assert
+        assertEquals("price", cursor.property());
+        assertEquals(Sort.Direction.DESC, cursor.direction());
+        assertEquals(Sort.by(Sort.Direction.DESC, "price", "id"), cursor.toSort());
+    }
+
+    @Test
+    void first_WithUnsupportedProperty_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> codec.first("description,asc"));
+    }
+
+    @Test
+    void encodeAndDecode_ShouldRestoreTypedKeys() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        ProductCursor cursor = ProductCursor.first("price", Sort.Direction.DESC)
+                .next(ScrollPosition.forward(Map.of("price", new BigDecimal("19.90"), "id", id)));
+
+        // Act
+        ProductCursor decoded = codec.decode(codec.encode(cursor));
+
+        // Assert
+        assertEquals("price", decoded.property());
+        assertEquals(Sort.Direction.DESC, decoded.direction());
+        assertEquals(new BigDecimal("19.90"), decoded.keys().get("price"));
+        assertEquals(id, decoded.keys().get("id"));
+    }
+
+    @Test
+    void decode_WithMalformedCursor_ShouldThrowException() {
+        assertThrows(InvalidRequestException.class, () -> codec.decode("not-a-cursor"));
+    }
+}
@@ -0,0 +1,82 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductCategoryFacetRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductFacetMaintainer.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductFacetMaintainerTest {
+
+    @Mock
+    private ProductCategoryFacetRepository facetRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductFacetMaintainer facetMaintainer;
+
+    @Test
+    void productCreated_WithoutCategory_ShouldCountUnderEmptyKey() {
+        // Act
+        facetMaintainer.productCreated(null, 0);
+
+        // Assert
+        verify(facetRepository).applyDelta("", 1, 0);
+    }
+
+    @Test
+    void productChanged_WithNewCategory_ShouldMoveBetweenCategories() {
+        // Act
+        facetMaintainer.productChanged("Shoes", 3, "Boots", 0);
+
+        // Assert
+        verify(facetRepository).applyDelta("Shoes", -1, -1);
+        verify(facetRepository).applyDelta("Boots", 1, 0);
+    }
+
+    @Test
+    void productChanged_WithSameCategoryAndStockSide_ShouldNotTouchAggregate() {
+        // Act
+        facetMaintainer.productChanged("Shoes", 3, "Shoes", 8);
+
+        // Assert
+        verifyNoInteractions(facetRepository);
+    }
+
+    @Test
+    void stockChanged_WhenSellingOut_ShouldDecrementInStockCount() {
+        // Arrange
+        UUID productId = UUID.randomUUID();
+        when(productRepository.findFacetCategoryById(productId)).thenReturn(Optional.of("Shoes"));
+
+        // Act
+        facetMaintainer.stockChanged(productId, 2, 0);
+
+        // Assert
+        verify(facetRepository).applyDelta("Shoes", 0, -1);
+    }
+
+    @Test
+    void stockChanged_WhenStayingInStock_ShouldSkipLookup() {
+        // Act
+        facetMaintainer.stockChanged(UUID.randomUUID(), 5, 4);
+
+        // Assert
+        verifyNoInteractions(productRepository, facetRepository);
+        verify(facetRepository, never()).applyDelta(any(), anyLong(), anyLong());
+    }
+}
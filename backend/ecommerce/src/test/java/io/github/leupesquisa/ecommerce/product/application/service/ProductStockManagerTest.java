@@ -0,0 +1,308 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.core.config.CacheConfig;
+import io.github.leupesquisa.ecommerce.core.exception.InvalidRequestException;
+import io.github.leupesquisa.ecommerce.event.application.EventPublisher;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.domain.StockAdjustment;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevel;
+import io.github.leupesquisa.ecommerce.product.domain.StockLevelChange;
+import io.github.leupesquisa.ecommerce.product.domain.exception.ProductNotFoundException;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductRepository;
+import io.github.leupesquisa.ecommerce.product.infrastructure.ProductStockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ProductStockManager.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProductStockManagerTest {
+
+    private final UUID productId = UUID.randomUUID();
+
+    @Mock
+    private ProductStockRepository productStockRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductFacetMaintainer productFacetMaintainer;
+
+    @Mock
+    private EventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache productsCache;
+
+    @InjectMocks
+    private ProductStockManager productStockManager;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE)).thenReturn(productsCache);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void updateStock_ShouldPublishReturnedChangeWithReason() {
+        // Arrange
+        StockLevelChange change = new StockLevelChange(productId, "SKU-001", "Product", 10, 7);
+        when(productStockRepository.setStock(productId, 7)).thenReturn(Optional.of(change));
+
+        // Act
+        StockLevelChange result = productStockManager.updateStock(productId, 7, StockChangeReason.RETURN);
+
+        // Assert
+        assertEquals(change, result);
+        ArgumentCaptor<ProductStockChangedEvent> captor = ArgumentCaptor.forClass(ProductStockChangedEvent.class);
+        verify(eventPublisher).publish(captor.capture());
+        assertEquals(10, captor.getValue().getOldStock());
+        assertEquals(7, captor.getValue().getNewStock());
+        assertEquals(StockChangeReason.RETURN, captor.getValue().getReason());
+        verify(productFacetMaintainer).stockChanged(productId, 10, 7);
+    }
+
+    @Test
+    void updateStock_WithoutTransaction_ShouldEvictCachedProductImmediately() {
+        // Arrange
+        when(productStockRepository.setStock(productId, 7))
+                .thenReturn(Optional.of(new StockLevelChange(productId, "SKU-001", "Product", 10, 7)));
+
+        // Act
+        productStockManager.updateStock(productId, 7, StockChangeReason.INVENTORY);
+
+        // Assert
+        verify(productsCache).evict(productId);
+    }
+
+    @Test
+    void updateStock_InsideTransaction_ShouldEvictCachedProductAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(productStockRepository.setStock(productId, 7))
+                .thenReturn(Optional.of(new StockLevelChange(productId, "SKU-001", "Product", 10, 7)));
+
+        // Act
+        productStockManager.updateStock(productId, 7, StockChangeReason.INVENTORY);
+
+        // Assert
+        verifyNoInteractions(productsCache);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(productsCache).evict(productId);
+    }
+
+    @Test
+    void updateStock_WithNonExistingProduct_ShouldThrowNotFound() {
+        // Arrange
+        when(productStockRepository.setStock(productId, 5)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class,
+                () -> productStockManager.updateStock(productId, 5, StockChangeReason.INVENTORY));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updateStock_BelowReservedStock_ShouldThrowInvalidRequest() {
+        // Arrange
+        when(productStockRepository.setStock(productId, 1)).thenReturn(Optional.empty());
+        when(productRepository.existsById(productId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productStockManager.updateStock(productId, 1, StockChangeReason.INVENTORY));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void adjustStock_ShouldLockRowsThenApplySummedDeltasAndPublishPerProduct() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        List<StockAdjustment> adjustments = List.of(
+                new StockAdjustment(productId, -2, StockChangeReason.ORDER),
+                new StockAdjustment(otherId, 10, StockChangeReason.SUPPLIER),
+                new StockAdjustment(productId, -3, StockChangeReason.ORDER));
+        when(productStockRepository.lockStockLevels(Set.of(productId, otherId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 0),
+                new StockLevel(otherId, 0, 0)));
+        when(productStockRepository.applyStockDeltas(Map.of(productId, -5, otherId, 10))).thenReturn(List.of(
+                new StockLevelChange(otherId, "SKU-002", "Other", 0, 10),
+                new StockLevelChange(productId, "SKU-001", "Product", 10, 5)));
+
+        // Act
+        List<StockLevelChange> result = productStockManager.adjustStock(adjustments);
+
+        // Assert
+        assertEquals(List.of(productId, otherId), result.stream().map(StockLevelChange::productId).toList());
+        InOrder inOrder = inOrder(productStockRepository);
+        inOrder.verify(productStockRepository).lockStockLevels(any());
+        inOrder.verify(productStockRepository).applyStockDeltas(any());
+        ArgumentCaptor<ProductStockChangedEvent> captor = ArgumentCaptor.forClass(ProductStockChangedEvent.class);
+        verify(eventPublisher, times(2)).publish(captor.capture());
+        assertEquals(StockChangeReason.ORDER, captor.getAllValues().get(0).getReason());
+        assertEquals(5, captor.getAllValues().get(0).getNewStock());
+        assertEquals(StockChangeReason.SUPPLIER, captor.getAllValues().get(1).getReason());
+    }
+
+    @Test
+    void adjustStock_WithInsufficientStock_ShouldRejectWholeBatch() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        when(productStockRepository.lockStockLevels(Set.of(productId, otherId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 0),
+                new StockLevel(otherId, 1, 0)));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, -3, StockChangeReason.ORDER),
+                new StockAdjustment(otherId, -2, StockChangeReason.ORDER))));
+        verify(productStockRepository, never()).applyStockDeltas(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void adjustStock_WhenSummedDeltaOverflows_ShouldRejectBeforeTouchingStock() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, Integer.MAX_VALUE, StockChangeReason.SUPPLIER),
+                new StockAdjustment(productId, 1, StockChangeReason.SUPPLIER))));
+        verifyNoInteractions(productStockRepository, eventPublisher);
+    }
+
+    @Test
+    void adjustStock_WhenNewStockWouldExceedMaximum_ShouldRejectWholeBatch() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 0)));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, Integer.MAX_VALUE, StockChangeReason.SUPPLIER))));
+        verify(productStockRepository, never()).applyStockDeltas(any());
+    }
+
+    @Test
+    void adjustStock_WhenDecreaseWouldTakeReservedStock_ShouldRejectWholeBatch() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 8)));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, -3, StockChangeReason.ORDER))));
+        verify(productStockRepository, never()).applyStockDeltas(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void adjustStock_WhenUpdateSkipsARow_ShouldRejectWholeBatch() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 0)));
+        when(productStockRepository.applyStockDeltas(Map.of(productId, -3))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, -3, StockChangeReason.ORDER))));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void adjustStock_WithNonExistingProduct_ShouldThrowNotFound() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productStockManager.adjustStock(List.of(
+                new StockAdjustment(productId, 3, StockChangeReason.SUPPLIER))));
+        verify(productStockRepository, never()).applyStockDeltas(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void reserveStock_WithInsufficientStock_ShouldThrowInvalidRequest() {
+        // Arrange
+        when(productStockRepository.reserveStock(productId, 4)).thenReturn(false);
+        when(productRepository.existsById(productId)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> productStockManager.reserveStock(productId, 4));
+    }
+
+    @Test
+    void reserveStock_WithNonExistingProduct_ShouldThrowNotFound() {
+        // Arrange
+        when(productStockRepository.reserveStock(productId, 4)).thenReturn(false);
+        when(productRepository.existsById(productId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ProductNotFoundException.class, () -> productStockManager.reserveStock(productId, 4));
+    }
+
+    @Test
+    void commitReservedStock_ShouldLockRowsAndPublishOrderEvents() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 2)));
+        when(productStockRepository.commitReservedStock(Map.of(productId, 2)))
+                .thenReturn(List.of(new StockLevelChange(productId, "SKU-001", "Product", 10, 8)));
+
+        // Act
+        List<StockLevelChange> result = productStockManager.commitReservedStock(Map.of(productId, 2));
+
+        // Assert
+        assertEquals(8, result.get(0).newStock());
+        InOrder inOrder = inOrder(productStockRepository);
+        inOrder.verify(productStockRepository).lockStockLevels(Set.of(productId));
+        inOrder.verify(productStockRepository).commitReservedStock(any());
+        ArgumentCaptor<ProductStockChangedEvent> captor = ArgumentCaptor.forClass(ProductStockChangedEvent.class);
+        verify(eventPublisher).publish(captor.capture());
+        assertEquals(StockChangeReason.ORDER, captor.getValue().getReason());
+    }
+
+    @Test
+    void commitReservedStock_WithLessReservedStockThanQuantity_ShouldRejectWithoutSelling() {
+        // Arrange
+        when(productStockRepository.lockStockLevels(Set.of(productId))).thenReturn(List.of(
+                new StockLevel(productId, 10, 1)));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> productStockManager.commitReservedStock(Map.of(productId, 2)));
+        verify(productStockRepository, never()).commitReservedStock(any());
+        verifyNoInteractions(eventPublisher);
+    }
+}
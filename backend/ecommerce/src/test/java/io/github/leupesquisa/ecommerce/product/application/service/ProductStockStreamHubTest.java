@@ -0,0 +1,93 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ProductStockStreamHub.
+ * Write tasks are captured instead of run, to observe what is queued for a subscriber that is not
+ * keeping up.
+ */
+class ProductStockStreamHubTest {
+
+    private final UUID productId = UUID.randomUUID();
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductStockStreamHub hub;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new ProductStockStreamHub(tasks::add, meterRegistry, Duration.ofMinutes(1), 2);
+    }
+
+    @Test
+    void onProductStockChanged_ForBusySubscriber_ShouldConflateUpdatesOfSameProduct() {
+        // Arrange
+        hub.subscribe(Set.of());
+
+        // Act
+        hub.onProductStockChanged(event(productId, 10, 9));
+        hub.onProductStockChanged(event(productId, 9, 8));
+        hub.onProductStockChanged(event(productId, 8, 7));
+
+        // Assert
+        assertEquals(1, tasks.size());
+        assertEquals(2.0, meterRegistry.get("products.stream.conflated").counter().count());
+    }
+
+    @Test
+    void onProductStockChanged_ForOtherProducts_ShouldSkipFilteredSubscriber() {
+        // Arrange
+        hub.subscribe(Set.of(productId));
+
+        // Act
+        hub.onProductStockChanged(event(UUID.randomUUID(), 10, 9));
+
+        // Assert
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void onProductStockChanged_WhenSubscriberFallsTooFarBehind_ShouldDisconnectIt() {
+        // Arrange
+        hub.subscribe(Set.of());
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            hub.onProductStockChanged(event(UUID.randomUUID(), 10, 9));
+        }
+
+        // Assert
+        assertEquals(1.0, meterRegistry.get("products.stream.evicted").counter().count());
+        assertEquals(0.0, meterRegistry.get("products.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void sendHeartbeats_ShouldScheduleWriteForIdleSubscribers() {
+        // Arrange
+        hub.subscribe(Set.of());
+        hub.subscribe(Set.of(productId));
+
+        // Act
+        hub.sendHeartbeats();
+
+        // Assert
+        assertEquals(2, tasks.size());
+    }
+
+    private ProductStockChangedEvent event(UUID id, int oldStock, int newStock) {
+        return new ProductStockChangedEvent(id, "SKU-001", "Product", oldStock, newStock);
+    }
+}
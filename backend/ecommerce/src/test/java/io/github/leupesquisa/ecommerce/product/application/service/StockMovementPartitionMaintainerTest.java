@@ -0,0 +1,74 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockMovementPartitionMaintainer.
+ */
+@ExtendWith(MockitoExtension.class)
+class StockMovementPartitionMaintainerTest {
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    @Test
+    void maintainPartitions_ShouldCreateCurrentAndUpcomingMonths() {
+        // Arrange
+        StockMovementPartitionMaintainer maintainer = new StockMovementPartitionMaintainer(stockMovementRepository, 2, 0);
+        YearMonth current = YearMonth.now();
+
+        // Act
+        maintainer.maintainPartitions();
+
+        // Assert
+        verify(stockMovementRepository).createPartition(current);
+        verify(stockMovementRepository).createPartition(current.plusMonths(1));
+        verify(stockMovementRepository).createPartition(current.plusMonths(2));
+        verify(stockMovementRepository, never()).findPartitionedMonths();
+    }
+
+    @Test
+    void maintainPartitions_WhenMonthCannotBeCreated_ShouldContinueWithRemainingMonths() {
+        // Arrange
+        StockMovementPartitionMaintainer maintainer = new StockMovementPartitionMaintainer(stockMovementRepository, 2, 0);
+        YearMonth current = YearMonth.now();
+        doThrow(new BadSqlGrammarException("createPartition", "CREATE TABLE",
+                new SQLException("updated partition constraint for default partition would be violated")))
+                .when(stockMovementRepository).createPartition(current);
+
+        // Act
+        maintainer.maintainPartitions();
+
+        // Assert
+        verify(stockMovementRepository).createPartition(current.plusMonths(1));
+        verify(stockMovementRepository).createPartition(current.plusMonths(2));
+    }
+
+    @Test
+    void maintainPartitions_WithRetention_ShouldDropExpiredMonthsOnly() {
+        // Arrange
+        StockMovementPartitionMaintainer maintainer = new StockMovementPartitionMaintainer(stockMovementRepository, 0, 3);
+        YearMonth current = YearMonth.now();
+        when(stockMovementRepository.findPartitionedMonths())
+                .thenReturn(List.of(current.minusMonths(4), current.minusMonths(3), current));
+
+        // Act
+        maintainer.maintainPartitions();
+
+        // Assert
+        verify(stockMovementRepository).dropPartition(current.minusMonths(4));
+        verify(stockMovementRepository, never()).dropPartition(current.minusMonths(3));
+        verify(stockMovementRepository, never()).dropPartition(current);
+    }
+}
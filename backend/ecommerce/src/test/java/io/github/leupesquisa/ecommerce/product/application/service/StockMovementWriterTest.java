@@ -0,0 +1,113 @@
+package io.github.leupesquisa.ecommerce.product.application.service;
+
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent;
+import io.github.leupesquisa.ecommerce.event.domain.ProductStockChangedEvent.StockChangeReason;
+import io.github.leupesquisa.ecommerce.product.domain.StockMovement;
+import io.github.leupesquisa.ecommerce.product.infrastructure.StockMovementRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StockMovementWriter.
+ */
+@ExtendWith(MockitoExtension.class)
+class StockMovementWriterTest {
+
+    private final UUID productId = UUID.randomUUID();
+
+    @Mock
+    private StockMovementRepository stockMovementRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StockMovementWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new StockMovementWriter(stockMovementRepository, meterRegistry);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_UNKNOWN));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void accept_InsideTransaction_ShouldWriteMovementsInOneBatchBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        writer.accept(event(10, 9));
+        writer.accept(event(9, 13));
+        verifyNoInteractions(stockMovementRepository);
+
+        // Act
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                synchronization.beforeCommit(false));
+
+        // Assert
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<StockMovement>> captor = ArgumentCaptor.forClass(List.class);
+        verify(stockMovementRepository).insertAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(4, captor.getValue().get(1).delta());
+        assertEquals(13, captor.getValue().get(1).newStock());
+        assertEquals(2.0, meterRegistry.get("stock.movements.written").counter().count());
+    }
+
+    @Test
+    void accept_InsideTransaction_WhenWriteFails_ShouldFailTheCommit() {
+        // Arrange
+        doThrow(new DataAccessResourceFailureException("down")).when(stockMovementRepository).insertAll(anyList());
+        TransactionSynchronizationManager.initSynchronization();
+        writer.accept(event(10, 9));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () ->
+                TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                        synchronization.beforeCommit(false)));
+        assertEquals(0.0, meterRegistry.get("stock.movements.written").counter().count());
+    }
+
+    @Test
+    void accept_OutsideTransaction_ShouldWriteImmediately() {
+        // Act
+        writer.accept(event(8, 12));
+
+        // Assert
+        verify(stockMovementRepository).insertAll(anyList());
+        assertEquals(1.0, meterRegistry.get("stock.movements.written").counter().count());
+    }
+
+    @Test
+    void accept_WithoutStockDifference_ShouldNotRecordMovement() {
+        // Act
+        writer.accept(event(5, 5));
+
+        // Assert
+        verifyNoInteractions(stockMovementRepository);
+    }
+
+    private ProductStockChangedEvent event(int oldStock, int newStock) {
+        return new ProductStockChangedEvent(productId, "SKU-001", "Product", oldStock, newStock, StockChangeReason.ORDER);
+    }
+}
@@ -0,0 +1,149 @@
+package io.github.leupesquisa.ecommerce.product.infrastructure;
+
+import io.github.leupesquisa.ecommerce.product.application.dto.ProductResponseDto;
+import io.github.leupesquisa.ecommerce.product.application.mapper.ProductMapper;
+import io.github.leupesquisa.ecommerce.product.domain.Product;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Integration benchmark comparing the entity read path (load a managed Product and map it
+ * with MapStruct) against the DTO projection queries of ProductRepository.
+ * Runs against the configured PostgreSQL database and is skipped unless -Dbenchmark=true.
+ * <p>
+ * Usage: {@code mvn test -Dtest=ProductReadPathBenchmarkTest -Dbenchmark=true}
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProductReadPathBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductReadPathBenchmarkTest.class);
+
+    private static final int PRODUCT_COUNT = 1_000;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int MEASURED_ITERATIONS = 20_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<UUID> productIds = new ArrayList<>();
+
+    @BeforeAll
+    void seedProducts() {
+        String prefix = "BENCH-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setSku(prefix + i);
+            product.setName("Benchmark Product " + i);
+            product.setDescription("Benchmark product used to compare read paths");
+            product.setPrice(BigDecimal.valueOf(10 + i % 90, 0));
+            product.setStock(i);
+            product.setCategory("Benchmark");
+            products.add(product);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                productRepository.saveAll(products).forEach(product -> productIds.add(product.getId())));
+    }
+
+    @AfterAll
+    void removeProducts() {
+        transactionTemplate.executeWithoutResult(status -> productRepository.deleteAllByIdInBatch(productIds));
+    }
+
+    @Test
+    void compareByIdReadPaths() {
+        UUID sampleId = productIds.get(0);
+        assertEquals(readEntityById(sampleId), readProjectionById(sampleId));
+
+        Result entity = measure(i -> readEntityById(productIds.get(i % productIds.size())));
+        Result projection = measure(i -> readProjectionById(productIds.get(i % productIds.size())));
+        report("by-id", entity, projection);
+    }
+
+    @Test
+    void compareListingReadPaths() {
+        int pages = PRODUCT_COUNT / PAGE_SIZE;
+        assertEquals(readEntityPage(0), readProjectionPage(0));
+
+        Result entity = measure(i -> readEntityPage(i % pages));
+        Result projection = measure(i -> readProjectionPage(i % pages));
+        report("listing (page of " + PAGE_SIZE + ")", entity, projection);
+    }
+
+    private ProductResponseDto readEntityById(UUID id) {
+        return transactionTemplate.execute(status ->
+                productMapper.toResponseDto(productRepository.findById(id).orElseThrow()));
+    }
+
+    private ProductResponseDto readProjectionById(UUID id) {
+        return transactionTemplate.execute(status -> productRepository.findDtoById(id).orElseThrow());
+    }
+
+    private List<ProductResponseDto> readEntityPage(int page) {
+        return transactionTemplate.execute(status ->
+                productRepository.findAll(pageRequest(page)).map(productMapper::toResponseDto).getContent());
+    }
+
+    private List<ProductResponseDto> readProjectionPage(int page) {
+        return transactionTemplate.execute(status ->
+                productRepository.findAllDtos(pageRequest(page)).getContent());
+    }
+
+    private Pageable pageRequest(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by("sku"));
+    }
+
+    private Result measure(IntConsumer operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.accept(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(elapsed / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    private void report(String path, Result entity, Result projection) {
+        log.info("{} - entity + mapper: {} us/op, {} B/op", path, entity.nanosPerOp() / 1_000.0, entity.bytesPerOp());
+        log.info("{} - DTO projection:  {} us/op, {} B/op", path, projection.nanosPerOp() / 1_000.0, projection.bytesPerOp());
+    }
+
+    private record Result(long nanosPerOp, long bytesPerOp) {}
+}
@@ -1,12 +1,13 @@
 import React, { createContext, useState, useContext, useEffect, ReactNode } from 'react';
-import { User } from '../types';
+import { User, LoginResponse } from '../types';
+import { authAPI, storeSession, clearSession } from '../services/api';
 
 interface AuthContextType {
   user: User | null;
   token: string | null;
   isAuthenticated: boolean;
-  login: (token: string, user: User) => void;
-  logout: () => void;
+  login: (response: LoginResponse) => void;
+  logout: () => Promise<void>;
   loading: boolean;
 }
 
@@ -33,6 +34,7 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
       } catch (error) {
         // If there's an error parsing the user, clear localStorage
         localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
         localStorage.removeItem('user');
       }
     }
@@ -40,22 +42,32 @@ export const AuthProvider: React.FC<AuthProviderProps> = ({ children }) => {
     setLoading(false);
   }, []);
 
-  const login = (newToken: string, newUser: User) => {
-    setToken(newToken);
-    setUser(newUser);
+  // The API client ends the session when the refresh token is rejected
+  useEffect(() => {
+    const handleLogout = () => {
+      setToken(null);
+      setUser(null);
+    };
+    window.addEventListener('auth:logout', handleLogout);
+    return () => window.removeEventListener('auth:logout', handleLogout);
+  }, []);
+
+  const login = (response: LoginResponse) => {
+    setToken(response.token);
+    setUser(response.user);
     
     // Store in localStorage
-    localStorage.setItem('token', newToken);
-    localStorage.setItem('user', JSON.stringify(newUser));
+    storeSession(response);
   };
 
-  const logout = () => {
-    setToken(null);
-    setUser(null);
-    
-    // Clear localStorage
-    localStorage.removeItem('token');
-    localStorage.removeItem('user');
+  const logout = async () => {
+    try {
+      // Revoke the session on the server so the refresh token cannot be used again
+      await authAPI.logout();
+    } finally {
+      // Clear localStorage
+      clearSession();
+    }
   };
 
   const value = {
@@ -45,13 +45,13 @@ const LoginPage: React.FC = () => {
       if (isLogin) {
         // Login
         const response = await authAPI.login(email, password);
-        login(response.token, response.user);
+        login(response);
         navigate(from);
       } else {
         // Register
         await authAPI.register(email, password);
         const loginResponse = await authAPI.login(email, password);
-        login(loginResponse.token, loginResponse.user);
+        login(loginResponse);
         navigate(from);
       }
     } catch (err) {
@@ -3,7 +3,7 @@ import { useParams, useNavigate, Link } from 'react-router-dom';
 import Navbar from '../components/organisms/Navbar';
 import Footer from '../components/organisms/Footer';
 import { useAuth } from '../context/AuthContext';
-import { productsAPI } from '../services/api';
+import { productsAPI, subscribeToStockUpdates } from '../services/api';
 import { Product, ApiError } from '../types';
 
 const ProductDetail: React.FC = () => {
@@ -47,6 +47,17 @@ const ProductDetail: React.FC = () => {
     fetchProduct();
   }, [id, navigate]);
 
+  // Keep the stock shown up to date while the page is open
+  useEffect(() => {
+    if (!id || !isAuthenticated) return;
+
+    return subscribeToStockUpdates([id], (update) => {
+      setProduct((current) => (current && current.id === update.productId
+        ? { ...current, stock: update.stock }
+        : current));
+    });
+  }, [id, isAuthenticated]);
+
   const handleDeleteProduct = async () => {
     if (!product) return;
 
@@ -68,7 +68,7 @@ const RegisterPage: React.FC = () => {
       await authAPI.register(formData.email, formData.password);
       // Auto login after registration
       const loginResponse = await authAPI.login(formData.email, formData.password);
-      login(loginResponse.token, loginResponse.user);
+      login(loginResponse);
       navigate(from);
     } catch (err) {
       console.error('Registration error:', err);
@@ -1,5 +1,5 @@
-import axios, { AxiosInstance, InternalAxiosRequestConfig } from 'axios';
-import { User, Product, LoginResponse } from '../types';
+import axios, { AxiosError, AxiosInstance, InternalAxiosRequestConfig } from 'axios';
+import { User, Product, LoginResponse, ProductStockUpdate } from '../types';
 
 // Create an Axios instance with the base URL and default headers
 const api: AxiosInstance = axios.create({
@@ -21,6 +21,64 @@ api.interceptors.request.use(
   (error) => Promise.reject(error)
 );
 
+// Store the tokens of a login or refresh, or clear them and notify the AuthContext when the session ends
+export const storeSession = (response: LoginResponse): void => {
+  localStorage.setItem('token', response.token);
+  localStorage.setItem('refreshToken', response.refreshToken);
+  localStorage.setItem('user', JSON.stringify(response.user));
+};
+
+export const clearSession = (): void => {
+  localStorage.removeItem('token');
+  localStorage.removeItem('refreshToken');
+  localStorage.removeItem('user');
+  window.dispatchEvent(new Event('auth:logout'));
+};
+
+// Refresh tokens are single use, so requests failing at the same time share one refresh
+let pendingRefresh: Promise<string> | null = null;
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!pendingRefresh) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    pendingRefresh = (refreshToken
+      ? axios.post<LoginResponse>(`${api.defaults.baseURL}/auth/refresh`, { refreshToken })
+          .then((response) => {
+            storeSession(response.data);
+            return response.data.token;
+          })
+      : Promise.reject(new Error('No refresh token'))
+    ).finally(() => {
+      pendingRefresh = null;
+    });
+  }
+  return pendingRefresh;
+};
+
+// Add a response interceptor that renews an expired access token once and retries the request
+api.interceptors.response.use(
+  (response) => response,
+  async (error: AxiosError) => {
+    const request = error.config as (InternalAxiosRequestConfig & { retried?: boolean }) | undefined;
+    const isSessionRequest = /^\/auth\/(login|register|refresh|logout)/.test(request?.url ?? '');
+    if (error.response?.status !== 401 || !request || request.retried || isSessionRequest) {
+      return Promise.reject(error);
+    }
+
+    let token: string;
+    try {
+      token = await refreshAccessToken();
+    } catch {
+      clearSession();
+      return Promise.reject(error);
+    }
+
+    request.retried = true;
+    request.headers.Authorization = `Bearer ${token}`;
+    return api(request);
+  }
+);
+
 // Authentication API calls
 export const authAPI = {
   register: async (email: string, password: string, role: string = 'USER'): Promise<User> => {
@@ -32,6 +90,13 @@ export const authAPI = {
     const response = await api.post('/auth/login', { email, password });
     return response.data;
   },
+
+  logout: async (): Promise<void> => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (refreshToken) {
+      await api.post('/auth/logout', { refreshToken });
+    }
+  },
 };
 
 // Products API calls
@@ -76,4 +141,78 @@ export const productsAPI = {
   },
 };
 
+// EventSource cannot send the Authorization header, so the stock stream is read with fetch.
+// Opens the stream with the current token, renews it once on 401, and reads "stock" events until the stream ends.
+const readStockStream = async (
+  ids: string[],
+  onUpdate: (update: ProductStockUpdate) => void,
+  signal: AbortSignal
+): Promise<void> => {
+  const query = ids.map((id) => `ids=${encodeURIComponent(id)}`).join('&');
+  const url = `${api.defaults.baseURL}/products/stream${query ? `?${query}` : ''}`;
+  const open = (token: string | null) =>
+    fetch(url, {
+      headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}) },
+      signal,
+    });
+
+  let response = await open(localStorage.getItem('token'));
+  if (response.status === 401) {
+    response = await open(await refreshAccessToken());
+  }
+  if (!response.ok || !response.body) {
+    throw new Error(`Stock stream failed with status ${response.status}`);
+  }
+
+  const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+  let buffer = '';
+  for (;;) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return;
+    }
+    buffer += value.replace(/\r\n?/g, '\n');
+    let end: number;
+    while ((end = buffer.indexOf('\n\n')) >= 0) {
+      const lines = buffer.slice(0, end).split('\n');
+      buffer = buffer.slice(end + 2);
+      const name = lines.find((line) => line.startsWith('event:'))?.slice(6).trim();
+      const data = lines
+        .filter((line) => line.startsWith('data:'))
+        .map((line) => line.slice(5).replace(/^ /, ''))
+        .join('\n');
+      if (name === 'stock' && data) {
+        onUpdate(JSON.parse(data) as ProductStockUpdate);
+      }
+    }
+  }
+};
+
+// Subscribe to live stock updates of the given products, or of all products when ids is empty.
+// Reconnects after a delay when the stream ends or fails; call the returned function to unsubscribe.
+export const subscribeToStockUpdates = (
+  ids: string[],
+  onUpdate: (update: ProductStockUpdate) => void,
+  retryDelayMs: number = 5000
+): (() => void) => {
+  const controller = new AbortController();
+
+  const connect = async (): Promise<void> => {
+    while (!controller.signal.aborted) {
+      try {
+        await readStockStream(ids, onUpdate, controller.signal);
+      } catch (error) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        console.error('Stock stream interrupted:', error);
+      }
+      await new Promise((resolve) => setTimeout(resolve, retryDelayMs));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
 export default api;
@@ -22,8 +22,18 @@ export interface Product {
   updatedAt?: string;
 }
 
+// Live stock update pushed by the product stream
+export interface ProductStockUpdate {
+  productId: string;
+  sku: string;
+  stock: number;
+  reason: 'ORDER' | 'RETURN' | 'INVENTORY' | 'SUPPLIER';
+  changedAt: string;
+}
+
 export interface LoginResponse {
   token: string;
+  refreshToken: string;
   user: User;
 }
 